@@ -0,0 +1,155 @@
+package com.ecommerce.Customer.batch;
+
+import com.ecommerce.Customer.client.DownstreamOutcome;
+import com.ecommerce.Customer.config.BatchProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Picks chunk size and in-flight chunk count per downstream route using AIMD:
+ * healthy, fast chunks grow both additively; a congested or slow chunk halves them
+ * (at most once per cooldown window). Values always stay within the configured floor and ceiling.
+ * Only congestion counts against a route: 5xx, 429, timeouts, connect failures and local rejections.
+ * Other 4xx answers (validation, duplicates, missing permission) are one caller's problem and count as healthy samples.
+ */
+@Slf4j
+@Component
+public class AdaptiveChunkController {
+
+    private final BatchProperties.Adaptive config;
+    private final Map<String, RouteState> routes = new ConcurrentHashMap<>();
+
+    public AdaptiveChunkController(BatchProperties batchProperties) {
+        this.config = batchProperties.getAdaptive();
+    }
+
+    public ChunkPlan plan(String route, int totalSize) {
+        RouteState state = state(route);
+        synchronized (state) {
+            int concurrency = state.concurrency;
+            // Spread small batches across the allowed concurrency, but never go below the floor
+            int spread = (int) Math.ceil((double) totalSize / concurrency);
+            int chunkSize = Math.max(config.getMinChunkSize(), Math.min(spread, state.chunkSize));
+            return new ChunkPlan(Math.max(1, chunkSize), concurrency);
+        }
+    }
+
+    public <T> List<List<T>> split(List<T> items, ChunkPlan plan) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += plan.getChunkSize()) {
+            chunks.add(items.subList(i, Math.min(i + plan.getChunkSize(), items.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * @param status the downstream status carried by a result, possibly a synthetic one for a failed call
+     */
+    public <T> Mono<T> measure(String route, Mono<T> call, Function<T, ? extends HttpStatusCode> status) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                .doOnNext(result -> record(route, System.nanoTime() - start, !isCongestion(status.apply(result))))
+                .doOnError(e -> record(route, System.nanoTime() - start, !isCongestion(e)));
+        });
+    }
+
+    public <T> Flux<T> measure(String route, Flux<T> call) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                .doOnComplete(() -> record(route, System.nanoTime() - start, true))
+                .doOnError(e -> record(route, System.nanoTime() - start, !isCongestion(e)));
+        });
+    }
+
+    static boolean isCongestion(HttpStatusCode status) {
+        // 408 is also what the chunk senders report for timeouts and connect failures
+        return status.is5xxServerError()
+            || status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+            || status.value() == HttpStatus.REQUEST_TIMEOUT.value();
+    }
+
+    static boolean isCongestion(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException response) {
+                return isCongestion(response.getStatusCode());
+            }
+        }
+        return switch (DownstreamOutcome.of(error)) {
+            case SERVER_ERROR, TIMEOUT, CONNECT_FAILURE, CONNECTION_CLOSED, CIRCUIT_OPEN, REJECTED -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * @param healthy false if the chunk showed congestion; a business rejection is still a healthy sample
+     */
+    public void record(String route, long latencyNanos, boolean healthy) {
+        RouteState state = state(route);
+        double alpha = config.getSmoothing();
+        synchronized (state) {
+            state.latencyEwma = state.latencyEwma < 0
+                ? latencyNanos
+                : alpha * latencyNanos + (1 - alpha) * state.latencyEwma;
+            state.errorRateEwma = alpha * (healthy ? 0.0 : 1.0) + (1 - alpha) * state.errorRateEwma;
+
+            boolean overloaded = !healthy
+                || state.latencyEwma > config.getTargetLatency().toNanos()
+                || state.errorRateEwma > config.getMaxErrorRate();
+
+            long now = System.nanoTime();
+            if (overloaded) {
+                if (now - state.lastDecrease >= config.getDecreaseCooldown().toNanos()) {
+                    state.chunkSize = clamp((int) (state.chunkSize * config.getDecreaseFactor()),
+                        config.getMinChunkSize(), config.getMaxChunkSize());
+                    state.concurrency = clamp((int) (state.concurrency * config.getDecreaseFactor()),
+                        config.getMinConcurrency(), config.getMaxConcurrency());
+                    state.lastDecrease = now;
+                    log.debug("Route [{}] backing off: chunkSize={}, concurrency={}",
+                        route, state.chunkSize, state.concurrency);
+                }
+            } else {
+                state.chunkSize = clamp(state.chunkSize + config.getChunkSizeStep(),
+                    config.getMinChunkSize(), config.getMaxChunkSize());
+                state.concurrency = clamp(state.concurrency + 1,
+                    config.getMinConcurrency(), config.getMaxConcurrency());
+            }
+        }
+    }
+
+    private RouteState state(String route) {
+        return routes.computeIfAbsent(route, r -> new RouteState(
+            clamp(config.getInitialChunkSize(), config.getMinChunkSize(), config.getMaxChunkSize()),
+            clamp(config.getInitialConcurrency(), config.getMinConcurrency(), config.getMaxConcurrency())));
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static final class RouteState {
+        private int chunkSize;
+        private int concurrency;
+        private double latencyEwma = -1;
+        private double errorRateEwma = 0;
+        private long lastDecrease = System.nanoTime() - Long.MAX_VALUE / 2;
+
+        private RouteState(int chunkSize, int concurrency) {
+            this.chunkSize = chunkSize;
+            this.concurrency = concurrency;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.Customer.batch;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logging for the batch hot path, sized so that log volume grows with chunks rather than users: one summary
+ * line per chunk and per batch, plus per-record lines that are sampled unless the mode is {@link BatchLogMode#FULL}.
+ * Summaries are key=value so they can be grepped and parsed without a structured appender.
+ */
+@Slf4j
+@Component
+public class BatchLog {
+
+    private final BatchProperties.Logging config;
+
+    public BatchLog(BatchProperties batchProperties) {
+        this.config = batchProperties.getLogging();
+    }
+
+    public void record(String strategy, String username) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        if (config.getMode() == BatchLogMode.FULL) {
+            log.info("Thread [{}] - [{}] Saved user: {}", Thread.currentThread().getName(), strategy, username);
+        } else if (ThreadLocalRandom.current().nextDouble() < config.getRecordSampleRate()) {
+            log.info("Thread [{}] - [{}] Saved user: {} (sampled 1 in {})",
+                Thread.currentThread().getName(), strategy, username, Math.round(1 / config.getRecordSampleRate()));
+        }
+    }
+
+    public void chunk(String endpoint, String strategy, int users, long elapsedNanos, String status, String outcome) {
+        log.info("Thread [{}] - Chunk summary strategy={} endpoint={} users={} status={} outcome={} durationMs={}",
+            Thread.currentThread().getName(), strategy, endpoint, users, status, outcome,
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    public void batch(String strategy, int users, int chunks, int results, long startNanos, String outcome) {
+        log.info("Thread [{}] - Batch summary strategy={} users={} chunks={} results={} outcome={} durationMs={}",
+            Thread.currentThread().getName(), strategy, users, chunks, results, outcome,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Writes the batch summary once {@code results} terminates, counting emitted results along the way.
+     */
+    public <T> Flux<T> batch(String strategy, int users, int chunks, Flux<T> results) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicInteger count = new AtomicInteger();
+            return results
+                .doOnNext(result -> count.incrementAndGet())
+                .doFinally(signal -> batch(strategy, users, chunks, count.get(), start, signal.name()));
+        });
+    }
+}
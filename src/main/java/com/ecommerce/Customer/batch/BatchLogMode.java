@@ -0,0 +1,11 @@
+package com.ecommerce.Customer.batch;
+
+/**
+ * How much {@link BatchLog} writes per record. Chunk and batch summaries are written in every mode.
+ */
+public enum BatchLogMode {
+    /** Every record is logged, for debugging small batches. */
+    FULL,
+    /** Records are logged at {@code record-sample-rate}. */
+    SAMPLED
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.Customer.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ChunkPlan {
+    private int chunkSize;
+    private int concurrency;
+}
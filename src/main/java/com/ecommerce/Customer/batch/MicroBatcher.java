@@ -0,0 +1,189 @@
+package com.ecommerce.Customer.batch;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.dto.UserCallExternalResponseDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Merges small user-creation requests from concurrent callers into shared downstream calls. Requests
+ * are collected per lane (the calling user, since the downstream authorizes per caller) until the lane
+ * holds {@code maxBatchSize} users or {@code maxWait} has passed since the first one arrived, then sent
+ * as one batch. Responses are handed back to each caller by username, in the caller's request order;
+ * a user the merged response does not mention comes back as {@code FAILED}. When the downstream rejects the
+ * merged call as invalid (400 or 422), each request is retried on its own, so one bad request does not fail the
+ * others; any other failure (timeouts, connect failures, 5xx, an open circuit) is handed to every caller as is,
+ * rather than multiplying the calls to a struggling downstream. Lanes are dropped once idle.
+ */
+@Slf4j
+@Component
+public class MicroBatcher {
+
+    static final String UNMATCHED_STATUS = "FAILED";
+    static final String UNMATCHED_MESSAGE = "No result for this user in the merged downstream response";
+
+    private final BatchProperties.MicroBatch config;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final DistributionSummary mergedSize;
+
+    public MicroBatcher(BatchProperties batchProperties, MeterRegistry meterRegistry) {
+        this.config = batchProperties.getMicroBatch();
+        this.mergedSize = DistributionSummary.builder("batch.micro.size")
+            .description("Users per merged downstream call")
+            .register(meterRegistry);
+    }
+
+    public boolean accepts(int requestSize) {
+        return config.isEnabled() && requestSize > 0 && requestSize <= config.getMaxRequestSize();
+    }
+
+    public Flux<UserCallExternalResponseDTO> submit(String lane, List<UserCallExternalRequestDTO> users,
+            Function<List<UserCallExternalRequestDTO>, Flux<UserCallExternalResponseDTO>> dispatch) {
+        return Mono.<List<UserCallExternalResponseDTO>>create(sink ->
+                lanes.computeIfAbsent(lane, Lane::new).add(new Pending(users, sink, dispatch)))
+            .flatMapIterable(responses -> responses);
+    }
+
+    private final class Lane {
+        private final String name;
+        private List<Pending> pending = new ArrayList<>();
+        private int size;
+        private Disposable timer;
+
+        private Lane(String name) {
+            this.name = name;
+        }
+
+        private void add(Pending request) {
+            List<Pending> full = null;
+            List<Pending> ready = null;
+            synchronized (this) {
+                // Flush first rather than overshoot the batch size
+                if (!pending.isEmpty() && size + request.users().size() > config.getMaxBatchSize()) {
+                    full = take();
+                }
+                pending.add(request);
+                size += request.users().size();
+                if (size >= config.getMaxBatchSize()) {
+                    ready = take();
+                    retire();
+                } else if (timer == null) {
+                    timer = Schedulers.parallel().schedule(this::flushDue, config.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            send(full);
+            send(ready);
+        }
+
+        private void flushDue() {
+            List<Pending> due;
+            synchronized (this) {
+                due = take();
+                retire();
+            }
+            send(due);
+        }
+
+        // Called with nothing pending. A request that raced onto this lane is still sent by its own timer;
+        // the next one for the caller opens a fresh lane.
+        private void retire() {
+            lanes.remove(name, this);
+        }
+
+        private List<Pending> take() {
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            List<Pending> batch = pending;
+            pending = new ArrayList<>();
+            size = 0;
+            return batch;
+        }
+
+        private void send(List<Pending> batch) {
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+            List<UserCallExternalRequestDTO> merged = new ArrayList<>();
+            batch.forEach(request -> merged.addAll(request.users()));
+            mergedSize.record(merged.size());
+            log.debug("Lane [{}] sending {} users from {} requests in one call", name, merged.size(), batch.size());
+
+            batch.get(0).dispatch().apply(merged)
+                .collectList()
+                .subscribe(
+                    responses -> demultiplex(batch, responses),
+                    error -> {
+                        if (batch.size() == 1 || !isInvalidRequest(error)) {
+                            batch.forEach(request -> request.sink().error(error));
+                            return;
+                        }
+                        log.debug("Lane [{}] merged call failed, retrying {} requests one by one: {}",
+                            name, batch.size(), error.toString());
+                        batch.forEach(MicroBatcher::sendAlone);
+                    });
+        }
+    }
+
+    // Only a validation failure can be pinned on one request of the batch
+    private static boolean isInvalidRequest(Throwable error) {
+        Throwable cause = Exceptions.isRetryExhausted(error) ? error.getCause() : error;
+        return cause instanceof WebClientResponseException response
+            && (response.getStatusCode().isSameCodeAs(HttpStatus.BAD_REQUEST)
+                || response.getStatusCode().isSameCodeAs(HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+
+    private static void sendAlone(Pending request) {
+        request.dispatch().apply(request.users())
+            .collectList()
+            .subscribe(
+                responses -> demultiplex(List.of(request), responses),
+                request.sink()::error);
+    }
+
+    private static void demultiplex(List<Pending> batch, List<UserCallExternalResponseDTO> responses) {
+        // A deque per username keeps duplicates from different callers apart
+        Map<String, Deque<UserCallExternalResponseDTO>> byUsername = new HashMap<>();
+        for (UserCallExternalResponseDTO response : responses) {
+            byUsername.computeIfAbsent(response.getUsername(), username -> new ArrayDeque<>()).add(response);
+        }
+        for (Pending request : batch) {
+            List<UserCallExternalResponseDTO> own = new ArrayList<>(request.users().size());
+            for (UserCallExternalRequestDTO user : request.users()) {
+                Deque<UserCallExternalResponseDTO> matches = byUsername.get(user.getUsername());
+                UserCallExternalResponseDTO response = matches == null ? null : matches.poll();
+                own.add(response != null ? response
+                    : new UserCallExternalResponseDTO(user.getUsername(), UNMATCHED_STATUS, UNMATCHED_MESSAGE));
+            }
+            request.sink().success(own);
+        }
+    }
+
+    private record Pending(List<UserCallExternalRequestDTO> users,
+                           MonoSink<List<UserCallExternalResponseDTO>> sink,
+                           Function<List<UserCallExternalRequestDTO>, Flux<UserCallExternalResponseDTO>> dispatch) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.Customer.batch;
+
+import com.ecommerce.Customer.dto.BatchProgressDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Interleaves periodic {@link BatchProgressDto} records into a result stream and appends a final summary.
+ * Results pass through untouched as they arrive; a progress tick is dropped rather than buffered
+ * when the client is not keeping up.
+ */
+public final class ProgressStream {
+
+    private ProgressStream() {
+    }
+
+    public static <T> Flux<Object> withProgress(Flux<T> results, Integer total, Duration interval, Function<T, String> status) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong processed = new AtomicLong();
+            Map<String, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+
+            Flux<T> counted = results.doOnNext(result -> {
+                processed.incrementAndGet();
+                statusCounts.computeIfAbsent(String.valueOf(status.apply(result)), key -> new AtomicLong()).incrementAndGet();
+            });
+
+            return counted.publish(shared -> Flux.merge(
+                    shared.cast(Object.class),
+                    Flux.interval(interval)
+                        .onBackpressureDrop()
+                        .map(tick -> (Object) snapshot("progress", total, processed, statusCounts, start))
+                        .takeUntilOther(shared.then())))
+                .concatWith(Mono.fromSupplier(() -> snapshot("summary", total, processed, statusCounts, start)));
+        });
+    }
+
+    private static BatchProgressDto snapshot(String type, Integer total, AtomicLong processed,
+                                             Map<String, AtomicLong> statusCounts, long start) {
+        Map<String, Long> counts = new TreeMap<>();
+        statusCounts.forEach((key, value) -> counts.put(key, value.get()));
+        return new BatchProgressDto(type, total, processed.get(),
+            Duration.ofNanos(System.nanoTime() - start).toMillis(), counts);
+    }
+}
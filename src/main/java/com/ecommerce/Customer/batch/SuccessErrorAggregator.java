@@ -0,0 +1,94 @@
+package com.ecommerce.Customer.batch;
+
+import com.ecommerce.Customer.dto.UserBatchErrorDto;
+import com.ecommerce.Customer.dto.UserBatchSuccessfulDto;
+import com.ecommerce.Customer.dto.UserResponseBatchSuccessErrorDto;
+import com.ecommerce.Customer.dto.UserResponseFullBatchSuccessErrorDto;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folds per-chunk success/error responses into one running result as they arrive, so a chunk's lists
+ * can be released as soon as it is merged. In compact mode successful users are only counted and at most
+ * {@code maxErrorSamples} errors are kept; the counts always cover the whole batch.
+ * Not thread-safe: feed it from a serialized stream.
+ */
+public class SuccessErrorAggregator {
+
+    private final boolean compact;
+    private final int maxErrorSamples;
+
+    private int chunks;
+    private int okChunks;
+    private int successCount;
+    private int failureCount;
+    private HttpStatus chunkStatus;
+    private boolean mixedChunkStatus;
+    private final List<UserBatchSuccessfulDto> successfulUsers = new ArrayList<>();
+    private final List<UserBatchErrorDto> errorUsers = new ArrayList<>();
+
+    public SuccessErrorAggregator(boolean compact, int maxErrorSamples) {
+        this.compact = compact;
+        this.maxErrorSamples = maxErrorSamples;
+    }
+
+    public static Mono<SuccessErrorAggregator> aggregate(Flux<UserResponseFullBatchSuccessErrorDto> chunks,
+                                                         boolean compact, int maxErrorSamples) {
+        return chunks.reduceWith(() -> new SuccessErrorAggregator(compact, maxErrorSamples), SuccessErrorAggregator::add);
+    }
+
+    public SuccessErrorAggregator add(UserResponseFullBatchSuccessErrorDto chunk) {
+        chunks++;
+        if (HttpStatus.OK.equals(chunk.getHttpStatus())) {
+            okChunks++;
+        }
+        if (chunkStatus == null) {
+            chunkStatus = chunk.getHttpStatus();
+        } else if (chunkStatus != chunk.getHttpStatus()) {
+            mixedChunkStatus = true;
+        }
+
+        UserResponseBatchSuccessErrorDto body = chunk.getBody();
+        if (body == null) {
+            return this;
+        }
+        successCount += body.getSuccessCount();
+        failureCount += body.getFailureCount();
+        if (!compact && body.getSuccessfulUsers() != null) {
+            successfulUsers.addAll(body.getSuccessfulUsers());
+        }
+        if (body.getErrorUsers() != null) {
+            int room = compact ? maxErrorSamples - errorUsers.size() : body.getErrorUsers().size();
+            if (room > 0) {
+                errorUsers.addAll(body.getErrorUsers().subList(0, Math.min(room, body.getErrorUsers().size())));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * The chunk count is chosen adaptively, so the batch is judged on the share of successful chunks.
+     */
+    public HttpStatus responseStatus() {
+        double successRatio = chunks == 0 ? 0.0 : (double) okChunks / chunks;
+        if (successRatio >= 0.8) {
+            return HttpStatus.OK;
+        }
+        return successRatio >= 0.6 ? HttpStatus.PARTIAL_CONTENT : HttpStatus.BAD_REQUEST;
+    }
+
+    /**
+     * The merged response. It carries the chunks' status when they all agree, otherwise the batch status.
+     */
+    public UserResponseFullBatchSuccessErrorDto result() {
+        int total = successCount + failureCount;
+        float successRate = total == 0 ? 0.0f : successCount * 100.0f / total;
+        HttpStatus status = chunkStatus != null && !mixedChunkStatus ? chunkStatus : responseStatus();
+        return new UserResponseFullBatchSuccessErrorDto(status,
+            new UserResponseBatchSuccessErrorDto(successCount, failureCount, successRate, successfulUsers, errorUsers));
+    }
+}
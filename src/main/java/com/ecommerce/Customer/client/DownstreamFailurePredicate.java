@@ -0,0 +1,20 @@
+package com.ecommerce.Customer.client;
+
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.function.Predicate;
+
+/**
+ * Decides which downstream errors count against a circuit breaker. Client errors (4xx, e.g. a duplicate
+ * username) say nothing about downstream health, so only 5xx responses, timeouts and I/O failures are recorded.
+ */
+public class DownstreamFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        if (throwable instanceof WebClientResponseException) {
+            return !((WebClientResponseException) throwable).getStatusCode().is4xxClientError();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.Customer.client;
+
+import com.ecommerce.Customer.dto.FullUserResponseDTO;
+import com.ecommerce.Customer.dto.UserResponseFullBatchSuccessErrorDto;
+
+import java.util.function.Predicate;
+
+/**
+ * The batch_async and batch_success_error calls turn every HTTP status into a response DTO instead of an error,
+ * so a 5xx would otherwise look like a successful call to the circuit breaker.
+ */
+public class DownstreamFailureResultPredicate implements Predicate<Object> {
+
+    @Override
+    public boolean test(Object result) {
+        if (result instanceof UserResponseFullBatchSuccessErrorDto) {
+            return ((UserResponseFullBatchSuccessErrorDto) result).getHttpStatus().is5xxServerError();
+        }
+        if (result instanceof FullUserResponseDTO) {
+            return ((FullUserResponseDTO) result).getStatus().is5xxServerError();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.Customer.client;
+
+import com.ecommerce.Customer.config.DownstreamProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Hedged requests for idempotent downstream calls. When hedging is enabled for a route, a second attempt is
+ * started after the route's observed percentile latency and whichever attempt signals first wins; the other
+ * is cancelled. Hedges fired are counted in {@code downstream.hedges}.
+ */
+@Slf4j
+@Component
+public class DownstreamHedger {
+
+    private final DownstreamProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    public DownstreamHedger(DownstreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> hedge(String route, Supplier<Mono<T>> call) {
+        DownstreamProperties.Hedge config = config(route);
+        if (!config.isEnabled()) {
+            return timed(route, call);
+        }
+        return Mono.defer(() -> {
+            Duration delay = delay(route, config);
+            Mono<T> hedged = Mono.delay(delay)
+                .then(Mono.defer(() -> {
+                    meterRegistry.counter("downstream.hedges", "route", route).increment();
+                    log.debug("Route [{}] hedging request after {} ms", route, delay.toMillis());
+                    return timed(route, call);
+                }));
+            // first signal wins, so a fast error from the primary is not masked by the hedge
+            return Mono.firstWithSignal(timed(route, call), hedged);
+        });
+    }
+
+    private <T> Mono<T> timed(String route, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.get()
+                .doOnSuccess(result -> window(route).record(System.nanoTime() - start));
+        });
+    }
+
+    private Duration delay(String route, DownstreamProperties.Hedge config) {
+        LatencyWindow window = window(route);
+        if (window.count() < config.getMinSamples()) {
+            return config.getMaxDelay();
+        }
+        long nanos = window.percentile(config.getPercentile());
+        long clamped = Math.max(config.getMinDelay().toNanos(), Math.min(config.getMaxDelay().toNanos(), nanos));
+        return Duration.ofNanos(clamped);
+    }
+
+    private LatencyWindow window(String route) {
+        return latencies.computeIfAbsent(route, name -> new LatencyWindow(config(name).getSampleSize()));
+    }
+
+    private DownstreamProperties.Hedge config(String route) {
+        return properties.getRoutes().getOrDefault(route, new DownstreamProperties.Route()).getHedge();
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.Customer.client;
+
+import com.ecommerce.Customer.batch.BatchLog;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Chunk-level and permission-check metrics for the outbound batch pipeline. A chunk is timed from dispatch to
+ * its final result, so {@code batch.chunk} includes fair-dispatch queueing and retries; individual HTTP attempts
+ * are in {@code downstream.requests}. Chunks are tagged with the downstream endpoint and the batch strategy
+ * (the {@code UserService} method) that sent them, and each finished chunk is summarized in {@link BatchLog}.
+ */
+@Component
+public class DownstreamMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final BatchLog batchLog;
+
+    public DownstreamMetrics(MeterRegistry meterRegistry, BatchLog batchLog) {
+        this.meterRegistry = meterRegistry;
+        this.batchLog = batchLog;
+    }
+
+    /**
+     * For calls that report failure in the result rather than as an error, e.g. {@code FullUserResponseDTO}.
+     */
+    public <T> Mono<T> chunk(String endpoint, String strategy, int size, Mono<T> call, Function<T, HttpStatusCode> status) {
+        return Mono.defer(() -> {
+            chunkSize(endpoint, strategy).record(size);
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call
+                .doOnNext(result -> {
+                    HttpStatusCode code = status.apply(result);
+                    recordChunk(recorded, endpoint, strategy, size, start, String.valueOf(code.value()), DownstreamOutcome.of(code));
+                })
+                .doOnError(error -> recordChunk(recorded, endpoint, strategy, size, start, "NONE", DownstreamOutcome.of(error)))
+                .doOnCancel(() -> recordChunk(recorded, endpoint, strategy, size, start, "NONE", DownstreamOutcome.CANCELLED));
+        });
+    }
+
+    public <T> Flux<T> chunk(String endpoint, String strategy, int size, Flux<T> call) {
+        return Flux.defer(() -> {
+            chunkSize(endpoint, strategy).record(size);
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call
+                .doOnComplete(() -> recordChunk(recorded, endpoint, strategy, size, start, "200", DownstreamOutcome.SUCCESS))
+                .doOnError(error -> recordChunk(recorded, endpoint, strategy, size, start, "NONE", DownstreamOutcome.of(error)))
+                .doOnCancel(() -> recordChunk(recorded, endpoint, strategy, size, start, "NONE", DownstreamOutcome.CANCELLED));
+        });
+    }
+
+    /**
+     * Times a permission check as the caller sees it, permission cache included.
+     */
+    public Mono<Boolean> permission(Mono<Boolean> check) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return check
+                .doOnNext(granted -> recordPermission(start, granted ? "GRANTED" : "DENIED"))
+                .doOnError(error -> recordPermission(start, DownstreamOutcome.of(error).name()));
+        });
+    }
+
+    private DistributionSummary chunkSize(String endpoint, String strategy) {
+        return DistributionSummary.builder("batch.chunk.size")
+            .description("Users per downstream chunk")
+            .baseUnit("users")
+            .tag("endpoint", endpoint)
+            .tag("strategy", strategy)
+            .register(meterRegistry);
+    }
+
+    private void recordChunk(AtomicBoolean recorded, String endpoint, String strategy, int size, long start,
+                             String status, DownstreamOutcome outcome) {
+        if (!recorded.compareAndSet(false, true)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        batchLog.chunk(endpoint, strategy, size, elapsed, status, outcome.name());
+        Timer.builder("batch.chunk")
+            .description("Downstream chunk latency including dispatch queueing and retries")
+            .tag("endpoint", endpoint)
+            .tag("strategy", strategy)
+            .tag("status", status)
+            .tag("outcome", outcome.name())
+            .register(meterRegistry)
+            .record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordPermission(long start, String outcome) {
+        Timer.builder("permission.check")
+            .description("Permission check latency, cache hits included")
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
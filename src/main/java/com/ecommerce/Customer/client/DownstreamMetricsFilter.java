@@ -0,0 +1,73 @@
+package com.ecommerce.Customer.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Times every HTTP exchange of one downstream client, retries and hedges included, as {@code downstream.requests}
+ * tagged with client, method, uri template, status and {@link DownstreamOutcome}. Time is measured up to the
+ * response headers; exchanges abandoned by a timeout or a winning hedge are recorded as {@code CANCELLED}.
+ */
+public class DownstreamMetricsFilter implements ExchangeFilterFunction {
+
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private final String client;
+    private final MeterRegistry meterRegistry;
+
+    public DownstreamMetricsFilter(String client, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return next.exchange(request)
+                .doOnNext(response -> record(recorded, request, start,
+                    String.valueOf(response.statusCode().value()), DownstreamOutcome.of(response.statusCode())))
+                .doOnError(error -> record(recorded, request, start, "NONE", DownstreamOutcome.of(error)))
+                .doOnCancel(() -> record(recorded, request, start, "NONE", DownstreamOutcome.CANCELLED));
+        });
+    }
+
+    private void record(AtomicBoolean recorded, ClientRequest request, long start, String status, DownstreamOutcome outcome) {
+        if (!recorded.compareAndSet(false, true)) {
+            return;
+        }
+        String uri = request.attribute(URI_TEMPLATE_ATTRIBUTE)
+            .map(template -> stripBaseUrl(template.toString()))
+            .orElseGet(() -> request.url().getPath());
+        Timer.builder("downstream.requests")
+            .description("HTTP exchanges with downstream services")
+            .tag("client", client)
+            .tag("method", request.method().name())
+            .tag("uri", uri)
+            .tag("status", status)
+            .tag("outcome", outcome.name())
+            .register(meterRegistry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    // The template is prefixed with the client's base URL; keep only the path so host and port stay out of the tags
+    private static String stripBaseUrl(String template) {
+        int scheme = template.indexOf("://");
+        if (scheme < 0) {
+            return template;
+        }
+        int path = template.indexOf('/', scheme + 3);
+        return path < 0 ? "/" : template.substring(path);
+    }
+}
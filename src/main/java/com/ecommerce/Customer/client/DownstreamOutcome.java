@@ -0,0 +1,71 @@
+package com.ecommerce.Customer.client;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.netty.handler.timeout.TimeoutException;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.PrematureCloseException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Low-cardinality classification of a downstream call result, used as the {@code outcome} metric tag.
+ */
+public enum DownstreamOutcome {
+    SUCCESS,
+    REDIRECTION,
+    CLIENT_ERROR,
+    SERVER_ERROR,
+    TIMEOUT,
+    CONNECT_FAILURE,
+    CONNECTION_CLOSED,
+    IO_ERROR,
+    CIRCUIT_OPEN,
+    REJECTED,
+    CANCELLED,
+    UNKNOWN;
+
+    public static DownstreamOutcome of(HttpStatusCode status) {
+        if (status.is2xxSuccessful()) {
+            return SUCCESS;
+        }
+        if (status.is3xxRedirection()) {
+            return REDIRECTION;
+        }
+        return status.is4xxClientError() ? CLIENT_ERROR : SERVER_ERROR;
+    }
+
+    public static DownstreamOutcome of(Throwable error) {
+        // Client errors arrive wrapped (WebClientRequestException, retry exhaustion), so walk the cause chain
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException response) {
+                return of(response.getStatusCode());
+            }
+            // Connect timeouts are ConnectExceptions, so check them before the generic timeouts
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException) {
+                return CONNECT_FAILURE;
+            }
+            if (cause instanceof java.util.concurrent.TimeoutException || cause instanceof TimeoutException) {
+                return TIMEOUT;
+            }
+            if (cause instanceof PrematureCloseException) {
+                return CONNECTION_CLOSED;
+            }
+            if (cause instanceof CallNotPermittedException) {
+                return CIRCUIT_OPEN;
+            }
+            if (cause instanceof BulkheadFullException || cause instanceof RejectedExecutionException) {
+                return REJECTED;
+            }
+            if (cause instanceof IOException) {
+                return IO_ERROR;
+            }
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.Customer.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps single downstream attempts in the circuit breaker and bulkhead configured for their route
+ * under {@code resilience4j.*}. Open circuits and full bulkheads fail immediately; see {@link #isRejection}.
+ * State and call metrics are published by resilience4j-micrometer and the circuitbreakers actuator endpoint.
+ */
+@Slf4j
+@Component
+public class DownstreamResilience {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public DownstreamResilience(CircuitBreakerRegistry circuitBreakerRegistry,
+                                BulkheadRegistry bulkheadRegistry,
+                                MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> protect(String route, Mono<T> call) {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(route);
+        return call
+            .transformDeferred(BulkheadOperator.of(bulkhead))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker(route)));
+    }
+
+    public <T> Flux<T> protect(String route, Flux<T> call) {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(route);
+        return call
+            .transformDeferred(BulkheadOperator.of(bulkhead))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker(route)));
+    }
+
+    /**
+     * True for errors raised by an open circuit or a full bulkhead; these must not be retried.
+     */
+    public static boolean isRejection(Throwable throwable) {
+        return throwable instanceof CallNotPermittedException || throwable instanceof BulkheadFullException;
+    }
+
+    private CircuitBreaker circuitBreaker(String route) {
+        return circuitBreakers.computeIfAbsent(route, name -> {
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+            circuitBreaker.getEventPublisher().onStateTransition(event -> {
+                log.warn("Circuit breaker [{}] transitioned {}", name, event.getStateTransition());
+                meterRegistry.counter("downstream.circuitbreaker.transitions",
+                        "name", name,
+                        "from", event.getStateTransition().getFromState().name(),
+                        "to", event.getStateTransition().getToState().name())
+                    .increment();
+            });
+            return circuitBreaker;
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.Customer.client;
+
+import com.ecommerce.Customer.config.DownstreamProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Backoff retries for downstream calls, capped by a {@link RetryBudget} shared across all chunks and requests
+ * of a route. Once the budget is spent, retryable errors surface immediately instead of multiplying load.
+ * Fired retries are counted in {@code downstream.retries} by attempt number and {@link DownstreamOutcome} of the failure,
+ * rejected ones in {@code downstream.retries.rejected}.
+ */
+@Slf4j
+@Component
+public class DownstreamRetries {
+
+    private final DownstreamProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    public DownstreamRetries(DownstreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> retry(String route, Mono<T> call, long maxAttempts, Duration minBackoff, Predicate<Throwable> retryable) {
+        return Mono.defer(() -> {
+            budget(route).deposit();
+            return call.retryWhen(spec(route, maxAttempts, minBackoff, retryable));
+        });
+    }
+
+    public <T> Flux<T> retry(String route, Flux<T> call, long maxAttempts, Duration minBackoff, Predicate<Throwable> retryable) {
+        return Flux.defer(() -> {
+            budget(route).deposit();
+            return call.retryWhen(spec(route, maxAttempts, minBackoff, retryable));
+        });
+    }
+
+    private Retry spec(String route, long maxAttempts, Duration minBackoff, Predicate<Throwable> retryable) {
+        // Reactor runs the filter before checking maxAttempts, so the failure after the last retry must not
+        // withdraw a token for a retry that never fires. One spec per subscription, so the count is per call.
+        AtomicLong failures = new AtomicLong();
+        return Retry.backoff(maxAttempts, minBackoff)
+            .filter(throwable -> retryable.test(throwable)
+                && (failures.incrementAndGet() > maxAttempts || acquire(route)))
+            .doBeforeRetry(retrySignal -> {
+                meterRegistry.counter("downstream.retries", "route", route,
+                    "attempt", String.valueOf(retrySignal.totalRetries() + 1),
+                    "cause", DownstreamOutcome.of(retrySignal.failure()).name()).increment();
+                log.info("Thread [{}] - Route [{}] attempting retry {} of {}",
+                    Thread.currentThread().getName(), route, retrySignal.totalRetries() + 1, maxAttempts);
+            });
+    }
+
+    private boolean acquire(String route) {
+        if (budget(route).tryWithdraw()) {
+            return true;
+        }
+        meterRegistry.counter("downstream.retries.rejected", "route", route).increment();
+        log.warn("Route [{}] retry budget exhausted, not retrying", route);
+        return false;
+    }
+
+    private RetryBudget budget(String route) {
+        return budgets.computeIfAbsent(route, name -> {
+            DownstreamProperties.RetryBudget config = properties.getRoutes()
+                .getOrDefault(name, new DownstreamProperties.Route())
+                .getRetryBudget();
+            if (!config.isEnabled()) {
+                DownstreamProperties.RetryBudget unlimited = new DownstreamProperties.RetryBudget();
+                unlimited.setInitialTokens(Double.MAX_VALUE);
+                unlimited.setMaxTokens(Double.MAX_VALUE);
+                return new RetryBudget(unlimited);
+            }
+            return new RetryBudget(config);
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.Customer.client;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips the encoded request body and sets {@code Content-Encoding: gzip}. Bodies smaller than
+ * {@code minSize} bytes are sent as-is, since compressing them costs more than it saves. Compression runs
+ * on the parallel scheduler so that large bodies do not hold up the event loop that encoded them.
+ */
+class GzipRequestDecorator extends ClientHttpRequestDecorator {
+
+    private final long minSize;
+
+    GzipRequestDecorator(ClientHttpRequest delegate, long minSize) {
+        super(delegate);
+        this.minSize = minSize;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(body)
+            .flatMap(buffer -> {
+                if (buffer.readableByteCount() < minSize) {
+                    return super.writeWith(Mono.just(buffer));
+                }
+                return Mono.fromCallable(() -> gzip(buffer))
+                    .subscribeOn(Schedulers.parallel())
+                    .flatMap(compressed -> {
+                        getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                        getHeaders().setContentLength(compressed.length);
+                        return super.writeWith(Mono.just(bufferFactory().wrap(compressed)));
+                    });
+            });
+    }
+
+    private static byte[] gzip(DataBuffer buffer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(buffer.readableByteCount() / 4);
+        try (InputStream in = buffer.asInputStream(true); GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            in.transferTo(gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to gzip request body", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.Customer.client;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of the most recent call latencies, used to derive hedging delays.
+ */
+public class LatencyWindow {
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    public LatencyWindow(int size) {
+        this.samples = new long[Math.max(1, size)];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    public long percentile(double percentile) {
+        long[] copy;
+        synchronized (this) {
+            if (count == 0) {
+                return 0;
+            }
+            copy = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(percentile * copy.length) - 1;
+        return copy[Math.max(0, Math.min(index, copy.length - 1))];
+    }
+}
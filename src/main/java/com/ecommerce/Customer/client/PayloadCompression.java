@@ -0,0 +1,6 @@
+package com.ecommerce.Customer.client;
+
+public enum PayloadCompression {
+    NONE,
+    GZIP
+}
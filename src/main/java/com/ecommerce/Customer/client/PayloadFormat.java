@@ -0,0 +1,22 @@
+package com.ecommerce.Customer.client;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Encodings available for downstream request bodies; all are produced by Jackson from the same DTOs.
+ */
+public enum PayloadFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    PayloadFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecommerce.Customer.client;
+
+import com.ecommerce.Customer.config.DownstreamProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Picks the request body encoding for one downstream client. Bodies go out as plain JSON until the downstream
+ * advertises the configured format in a response {@code Accept} header and gzip in {@code Accept-Encoding}
+ * (RFC 7694), unless {@code require-advertisement} is off. A 415 answer switches the client back to plain
+ * JSON and re-sends the request once.
+ */
+@Slf4j
+public class PayloadNegotiationFilter implements ExchangeFilterFunction {
+
+    private final String client;
+    private final DownstreamProperties.Payload config;
+    private volatile boolean formatSupported;
+    private volatile boolean compressionSupported;
+
+    public PayloadNegotiationFilter(String client, DownstreamProperties.Payload config) {
+        this.client = client;
+        this.config = config;
+        this.formatSupported = !config.isRequireAdvertisement();
+        this.compressionSupported = !config.isRequireAdvertisement();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        PayloadFormat format = formatSupported ? config.getFormat() : PayloadFormat.JSON;
+        boolean gzip = compressionSupported && config.getCompression() == PayloadCompression.GZIP;
+        if (!hasBody(request) || (format == PayloadFormat.JSON && !gzip)) {
+            return next.exchange(request).doOnNext(this::learn);
+        }
+        return next.exchange(encode(request, format, gzip))
+            .flatMap(response -> {
+                if (response.statusCode().value() != HttpStatus.UNSUPPORTED_MEDIA_TYPE.value()) {
+                    learn(response);
+                    return Mono.just(response);
+                }
+                log.warn("Downstream [{}] rejected {} payload (gzip={}), falling back to JSON", client, format, gzip);
+                formatSupported = false;
+                compressionSupported = false;
+                return response.releaseBody().then(next.exchange(request));
+            });
+    }
+
+    private ClientRequest encode(ClientRequest request, PayloadFormat format, boolean gzip) {
+        long minCompressSize = config.getMinCompressSize().toBytes();
+        return ClientRequest.from(request)
+            // The body inserter picks its encoder from this header when the request is written
+            .headers(headers -> headers.setContentType(format.getMediaType()))
+            .body((outputMessage, context) -> request.body().insert(
+                gzip ? new GzipRequestDecorator(outputMessage, minCompressSize) : outputMessage, context))
+            .build();
+    }
+
+    private void learn(ClientResponse response) {
+        if (!config.isRequireAdvertisement()) {
+            return;
+        }
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        if (!formatSupported && config.getFormat() != PayloadFormat.JSON) {
+            List<MediaType> accepted = headers.getAccept();
+            if (accepted.stream().anyMatch(type -> type.isCompatibleWith(config.getFormat().getMediaType()))) {
+                log.info("Downstream [{}] accepts {}, switching request encoding", client, config.getFormat());
+                formatSupported = true;
+            }
+        }
+        if (!compressionSupported && config.getCompression() == PayloadCompression.GZIP) {
+            String acceptEncoding = headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+            if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+                log.info("Downstream [{}] accepts gzip request bodies, enabling compression", client);
+                compressionSupported = true;
+            }
+        }
+    }
+
+    private static boolean hasBody(ClientRequest request) {
+        return switch (request.method().name()) {
+            case "POST", "PUT", "PATCH" -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.Customer.client;
+
+import com.ecommerce.Customer.config.DownstreamProperties;
+
+/**
+ * Token bucket behind {@link DownstreamRetries}: requests deposit a fraction of a token, retries withdraw a whole one.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public RetryBudget(DownstreamProperties.RetryBudget config) {
+        this.ratio = config.getRatio();
+        this.maxTokens = config.getMaxTokens();
+        this.tokens = Math.min(config.getInitialTokens(), config.getMaxTokens());
+    }
+
+    public synchronized void deposit() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    public synchronized double available() {
+        return tokens;
+    }
+}
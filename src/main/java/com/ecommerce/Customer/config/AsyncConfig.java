@@ -1,6 +1,9 @@
 package com.ecommerce.Customer.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.context.annotation.Bean;
@@ -11,6 +14,7 @@ import java.util.concurrent.Executor;
 public class AsyncConfig {
     
     @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
     public Executor taskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
@@ -20,4 +24,14 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-} 
\ No newline at end of file
+
+    // One virtual thread per task; the only cap left is the downstream connection pool size
+    @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualTaskExecutor(DownstreamProperties downstreamProperties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("AsyncVirtual-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(downstreamProperties.getPool().getMaxConnections());
+        return executor;
+    }
+}
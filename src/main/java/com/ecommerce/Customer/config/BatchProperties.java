@@ -0,0 +1,107 @@
+package com.ecommerce.Customer.config;
+
+import com.ecommerce.Customer.batch.BatchLogMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "batch")
+public class BatchProperties {
+
+    private Adaptive adaptive = new Adaptive();
+    private Journal journal = new Journal();
+    private Jobs jobs = new Jobs();
+    private MicroBatch microBatch = new MicroBatch();
+    private Logging logging = new Logging();
+    private Aggregation aggregation = new Aggregation();
+
+    /**
+     * Bounds and tuning for the AIMD chunk size / concurrency controller.
+     */
+    @Data
+    public static class Adaptive {
+        private int minChunkSize = 50;
+        private int maxChunkSize = 2000;
+        private int initialChunkSize = 200;
+        private int chunkSizeStep = 50;
+        private int minConcurrency = 1;
+        private int maxConcurrency = 32;
+        private int initialConcurrency = 5;
+        private double decreaseFactor = 0.5;
+        private Duration targetLatency = Duration.ofSeconds(2);
+        private double maxErrorRate = 0.1;
+        private double smoothing = 0.2;
+        private Duration decreaseCooldown = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Durable journal of accepted batches. Writes are group-committed: whatever is queued while
+     * the previous flush runs goes out in the next transaction, up to {@code maxGroupSize} entries.
+     * A batch is leased to the instance running it for {@code leaseDuration}, renewed every
+     * {@code leaseRenewInterval}; every {@code claimInterval} an instance claims and resumes batches
+     * whose lease has expired. {@code instanceId} defaults to a random id per process.
+     */
+    @Data
+    public static class Journal {
+        private boolean enabled = true;
+        private int maxGroupSize = 500;
+        private int queueCapacity = 10000;
+        private Duration retention = Duration.ofHours(1);
+        private String instanceId;
+        private Duration leaseDuration = Duration.ofMinutes(2);
+        private Duration leaseRenewInterval = Duration.ofSeconds(30);
+        private Duration claimInterval = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Limits for the asynchronous job API: at most {@code maxConcurrentJobs} run at once and
+     * up to {@code queueCapacity} wait; further submissions are rejected. A finished job keeps its counts and
+     * at most {@code maxErrorSamples} errors, and at most {@code maxFinishedJobs} finished jobs are retained.
+     */
+    @Data
+    public static class Jobs {
+        private int maxConcurrentJobs = 4;
+        private int queueCapacity = 100;
+        private Duration retention = Duration.ofHours(1);
+        private Duration sseTimeout = Duration.ofMinutes(30);
+        private int maxFinishedJobs = 1000;
+        private int maxErrorSamples = 100;
+    }
+
+    /**
+     * Cross-request aggregation of small submissions: requests of at most {@code maxRequestSize} users
+     * are merged per caller into one downstream call of up to {@code maxBatchSize} users, waiting at most {@code maxWait}.
+     */
+    @Data
+    public static class MicroBatch {
+        private boolean enabled = true;
+        private int maxRequestSize = 50;
+        private int maxBatchSize = 500;
+        private Duration maxWait = Duration.ofMillis(5);
+    }
+
+    /**
+     * Hot-path logging: chunk and batch summaries are always written, per-record lines only
+     * in {@code FULL} mode or for a {@code recordSampleRate} fraction of records.
+     */
+    @Data
+    public static class Logging {
+        private BatchLogMode mode = BatchLogMode.SAMPLED;
+        private double recordSampleRate = 0.001;
+    }
+
+    /**
+     * Merged success/error responses. Batches above {@code compactAboveUsers} users, or every batch when
+     * {@code compact} is set, return counts plus at most {@code maxErrorSamples} errors instead of full user lists.
+     */
+    @Data
+    public static class Aggregation {
+        private boolean compact = false;
+        private int compactAboveUsers = 10000;
+        private int maxErrorSamples = 100;
+    }
+}
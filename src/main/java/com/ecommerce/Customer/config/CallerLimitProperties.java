@@ -0,0 +1,41 @@
+package com.ecommerce.Customer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-caller request limits and fair-share weights, keyed by {@code X-Current-User}.
+ * Callers without an entry under {@code callers} get {@code default-limit}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "caller-limits")
+public class CallerLimitProperties {
+
+    private boolean enabled = true;
+    private Limit defaultLimit = new Limit();
+    private Map<String, Limit> callers = new LinkedHashMap<>();
+    // Chunks in flight downstream across all callers
+    private int maxInFlightChunks = 32;
+    // Users a caller of weight 1 may dispatch per round-robin turn
+    private int quantum = 100;
+    // Rate-limit buckets kept in memory; an evicted caller starts again with a full bucket
+    private long maxTrackedCallers = 10000;
+    private Duration bucketIdleTimeout = Duration.ofMinutes(10);
+
+    public Limit limitFor(String caller) {
+        return callers.getOrDefault(caller, defaultLimit);
+    }
+
+    @Data
+    public static class Limit {
+        private double requestsPerSecond = 5;
+        private int burst = 10;
+        private int weight = 1;
+    }
+}
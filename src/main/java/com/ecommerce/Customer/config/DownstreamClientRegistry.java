@@ -0,0 +1,119 @@
+package com.ecommerce.Customer.config;
+
+import com.ecommerce.Customer.client.DownstreamMetricsFilter;
+import com.ecommerce.Customer.client.PayloadFormat;
+import com.ecommerce.Customer.client.PayloadNegotiationFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds one {@link WebClient} per configured downstream, all backed by a single shared
+ * {@link ConnectionProvider}, so connections are reused across requests and batch strategies.
+ * Pool gauges (active, idle, pending acquire) are published under {@code reactor.netty.connection.provider.*},
+ * and every exchange is timed as {@code downstream.requests}.
+ */
+@Slf4j
+@Component
+public class DownstreamClientRegistry implements DisposableBean {
+
+    private final DownstreamProperties properties;
+    private final WebClient.Builder webClientBuilder;
+    private final MeterRegistry meterRegistry;
+    private final ConnectionProvider connectionProvider;
+    private final Map<String, WebClient> clients = new ConcurrentHashMap<>();
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+    public DownstreamClientRegistry(DownstreamProperties properties, WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.webClientBuilder = webClientBuilder;
+        this.meterRegistry = meterRegistry;
+        this.connectionProvider = createConnectionProvider(properties.getPool());
+    }
+
+    public WebClient get(String name) {
+        return clients.computeIfAbsent(name, this::createWebClient);
+    }
+
+    public DownstreamProperties.Client config(String name) {
+        DownstreamProperties.Client client = properties.getClients().get(name);
+        if (client == null) {
+            throw new IllegalArgumentException("No downstream client configured with name: " + name);
+        }
+        return client;
+    }
+
+    private ConnectionProvider createConnectionProvider(DownstreamProperties.Pool pool) {
+        return ConnectionProvider.builder(pool.getName())
+            .maxConnections(pool.getMaxConnections())
+            .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+            .maxIdleTime(pool.getMaxIdleTime())
+            .maxLifeTime(pool.getMaxLifeTime())
+            .evictInBackground(pool.getEvictInBackground())
+            .metrics(pool.isMetricsEnabled())
+            .build();
+    }
+
+    private WebClient createWebClient(String name) {
+        DownstreamProperties.Client client = config(name);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.getConnectTimeout().toMillis())
+            .keepAlive(client.isKeepAlive())
+            .responseTimeout(client.getResponseTimeout())
+            .doOnConnected(conn ->
+                conn.addHandlerLast(new ReadTimeoutHandler(client.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                    .addHandlerLast(new WriteTimeoutHandler(client.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)));
+
+        if (client.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        log.info("Creating downstream client [{}] for {} (http2={}, keepAlive={}, payload={}/{})",
+            name, client.getBaseUrl(), client.isHttp2(), client.isKeepAlive(),
+            client.getPayload().getFormat(), client.getPayload().getCompression());
+
+        return webClientBuilder.clone()
+            .codecs(configurer -> {
+                configurer.defaultCodecs().maxInMemorySize((int) client.getMaxInMemorySize().toBytes());
+                // Mime types must be explicit: the ObjectMapper-only constructors default to application/json
+                configurer.customCodecs().register(new Jackson2SmileEncoder(smileMapper, PayloadFormat.SMILE.getMediaType()));
+                configurer.customCodecs().register(new Jackson2SmileDecoder(smileMapper, PayloadFormat.SMILE.getMediaType()));
+                configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper, PayloadFormat.CBOR.getMediaType()));
+                configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, PayloadFormat.CBOR.getMediaType()));
+            })
+            .filter(new PayloadNegotiationFilter(name, client.getPayload()))
+            // Innermost, so a 415 renegotiation is timed as two exchanges
+            .filter(new DownstreamMetricsFilter(name, meterRegistry))
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .baseUrl(client.getBaseUrl())
+            .build();
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.disposeLater().block();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.Customer.config;
+
+import com.ecommerce.Customer.client.PayloadCompression;
+import com.ecommerce.Customer.client.PayloadFormat;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "downstream")
+public class DownstreamProperties {
+
+    private Pool pool = new Pool();
+    private Map<String, Client> clients = new LinkedHashMap<>();
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    /**
+     * Settings for the single connection pool shared by every downstream client.
+     */
+    @Data
+    public static class Pool {
+        private String name = "downstream-pool";
+        private int maxConnections = 200;
+        private int pendingAcquireMaxCount = 1000;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInBackground = Duration.ofSeconds(30);
+        private boolean metricsEnabled = true;
+    }
+
+    /**
+     * Per-downstream settings, keyed by the client name used in {@link DownstreamClientRegistry#get(String)}.
+     */
+    @Data
+    public static class Client {
+        private String baseUrl;
+        private boolean keepAlive = true;
+        private boolean http2 = false;
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration responseTimeout = Duration.ofSeconds(120);
+        private Duration readTimeout = Duration.ofSeconds(60);
+        private Duration writeTimeout = Duration.ofSeconds(60);
+        private DataSize maxInMemorySize = DataSize.ofMegabytes(16);
+        private Payload payload = new Payload();
+    }
+
+    /**
+     * Request body encoding for a downstream. Until the downstream advertises {@code format} / gzip support
+     * (unless {@code requireAdvertisement} is off), bodies are sent as uncompressed JSON.
+     * Bodies below {@code minCompressSize} are never compressed.
+     */
+    @Data
+    public static class Payload {
+        private PayloadFormat format = PayloadFormat.JSON;
+        private PayloadCompression compression = PayloadCompression.NONE;
+        private DataSize minCompressSize = DataSize.ofKilobytes(1);
+        private boolean requireAdvertisement = true;
+    }
+
+    /**
+     * Per-route retry and hedging settings, keyed by the same route names as the resilience4j instances.
+     */
+    @Data
+    public static class Route {
+        private RetryBudget retryBudget = new RetryBudget();
+        private Hedge hedge = new Hedge();
+    }
+
+    /**
+     * Token bucket shared by all callers of a route: every request deposits {@code ratio} tokens
+     * and every retry spends one, so retries stay capped at roughly {@code ratio} of normal traffic.
+     */
+    @Data
+    public static class RetryBudget {
+        private boolean enabled = true;
+        private double ratio = 0.1;
+        private double initialTokens = 10;
+        private double maxTokens = 100;
+    }
+
+    /**
+     * Sends a second copy of an idempotent request once the first has been outstanding longer than
+     * the observed {@code percentile} latency, clamped to [{@code minDelay}, {@code maxDelay}].
+     */
+    @Data
+    public static class Hedge {
+        private boolean enabled = false;
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(50);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private int minSamples = 20;
+        private int sampleSize = 200;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.Customer.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors used by the blocking batch paths. With {@code spring.threads.virtual.enabled=true} every chunk
+ * gets its own virtual thread, so in-flight chunks are bounded by the adaptive concurrency, bulkheads and
+ * connection pool rather than by a fixed number of platform threads.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    @Bean(name = "batchExecutorService", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService batchExecutorService() {
+        return Executors.newFixedThreadPool(5);
+    }
+
+    @Bean(name = "batchExecutorService", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualBatchExecutorService() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("batch-virtual-", 0).factory());
+    }
+
+    @Bean(name = "batchScheduler", destroyMethod = "dispose")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Scheduler batchScheduler() {
+        return Schedulers.newParallel("user-save-scheduler", 5);
+    }
+
+    @Bean(name = "batchScheduler", destroyMethod = "dispose")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Scheduler virtualBatchScheduler() {
+        return Schedulers.fromExecutorService(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-save-virtual-", 0).factory()),
+            "user-save-scheduler");
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.Customer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    // Stored results are weighed by their serialized size, so the store is bounded in bytes rather than entries
+    private DataSize maxReplaySize = DataSize.ofMegabytes(64);
+    // Results larger than this, or with more than maxEntryItems elements, are not kept for replay
+    private DataSize maxEntrySize = DataSize.ofMegabytes(4);
+    private int maxEntryItems = 10_000;
+    private Duration retention = Duration.ofMinutes(10);
+    private Duration inFlightTimeout = Duration.ofHours(1);
+}
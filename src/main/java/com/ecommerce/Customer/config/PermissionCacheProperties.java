@@ -0,0 +1,17 @@
+package com.ecommerce.Customer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "permission.cache")
+public class PermissionCacheProperties {
+    private boolean enabled = true;
+    private long maxSize = 10_000;
+    private Duration ttl = Duration.ofMinutes(5);
+    private Duration negativeTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.Customer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "user.cache")
+public class UserCacheProperties {
+    private boolean enabled = true;
+    private long maxSize = 50_000;
+    private Duration ttl = Duration.ofMinutes(10);
+    private WarmUp warmUp = new WarmUp();
+
+    /**
+     * Preloads the {@code size} most recently created users once the application is ready.
+     */
+    @Data
+    public static class WarmUp {
+        private boolean enabled = false;
+        private int size = 1000;
+        private int batchSize = 500;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.Customer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "user-listing")
+public class UserListingProperties {
+    private int defaultLimit = 50;
+    private int maxLimit = 500;
+    private Export export = new Export();
+
+    /**
+     * Full export: users are read through a cursor {@code fetchSize} rows at a time, and roles are
+     * loaded for {@code roleBatchSize} users per side query. Heap use is bounded by these, not by the table size.
+     * Exports run on their own pool of {@code maxConcurrentExports} connections; further exports are rejected.
+     */
+    @Data
+    public static class Export {
+        private int fetchSize = 1000;
+        private int roleBatchSize = 500;
+        private int maxConcurrentExports = 2;
+    }
+}
@@ -1,14 +1,35 @@
 package com.ecommerce.Customer.config;
 
+import com.ecommerce.Customer.ratelimit.CallerRateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final CallerRateLimitInterceptor callerRateLimitInterceptor;
+
+    // Applies to async JSON responses that wait for a whole batch. Streamed NDJSON/SSE responses are created
+    // by Spring MVC with no timeout, so a long NDJSON import is not cut off by this setting.
+    @Value("${web.async.request-timeout:5m}")
+    private Duration asyncRequestTimeout;
+
     @Override
     public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
-        configurer.setDefaultTimeout(10000); // 10 seconds
+        configurer.setDefaultTimeout(asyncRequestTimeout.toMillis());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(callerRateLimitInterceptor)
+            .addPathPatterns("/api/v1/users/batch/**", "/api/v1/users/jobs");
     }
-} 
\ No newline at end of file
+}
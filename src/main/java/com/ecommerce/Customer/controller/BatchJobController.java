@@ -0,0 +1,94 @@
+package com.ecommerce.Customer.controller;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import com.ecommerce.Customer.dto.BatchJobDto;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.job.BatchJobService;
+import com.ecommerce.Customer.service.IdempotencyStore;
+import com.ecommerce.Customer.util.UserDataCallExternalApiGenerator;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/v1/users/jobs")
+@RequiredArgsConstructor
+public class BatchJobController {
+
+    private final BatchJobService batchJobService;
+    private final IdempotencyStore idempotencyStore;
+    private final BatchProperties batchProperties;
+    private final UserDataCallExternalApiGenerator userDataCallExternalApiGenerator;
+
+    @PostMapping
+    public ResponseEntity<BatchJobDto> submit(
+            @RequestHeader("X-Current-User") @Size(max = 50) String currentUser,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody(required = false) List<UserCallExternalRequestDTO> userCallExternalRequestDTO) {
+        List<UserCallExternalRequestDTO> requests = userCallExternalRequestDTO != null ?
+            userCallExternalRequestDTO :
+            userDataCallExternalApiGenerator.generateUsers(20);
+        try {
+            BatchJobDto job = idempotencyStore.mono("jobs:" + currentUser, idempotencyKey, userCallExternalRequestDTO,
+                    () -> Mono.fromCallable(() -> batchJobService.submit(currentUser, requests)))
+                // A replayed submission reports the job's current state, not the one at submit time
+                .map(submitted -> batchJobService.get(submitted.getJobId()).orElse(submitted))
+                .block();
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/users/jobs/" + job.getJobId()))
+                .body(job);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BatchJobDto> get(@PathVariable String jobId) {
+        return batchJobService.get(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    // SseEmitter carries its own timeout, so long jobs are not cut off by the default async request timeout
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@PathVariable String jobId) {
+        return batchJobService.updates(jobId)
+            .map(updates -> {
+                SseEmitter emitter = new SseEmitter(batchProperties.getJobs().getSseTimeout().toMillis());
+                Disposable subscription = updates.subscribe(
+                    update -> {
+                        try {
+                            emitter.send(SseEmitter.event()
+                                .name(update.getStatus().name().toLowerCase())
+                                .data(update, MediaType.APPLICATION_JSON));
+                        } catch (IOException e) {
+                            emitter.completeWithError(e);
+                        }
+                    },
+                    emitter::completeWithError,
+                    emitter::complete);
+                emitter.onCompletion(subscription::dispose);
+                emitter.onTimeout(subscription::dispose);
+                return ResponseEntity.ok(emitter);
+            })
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
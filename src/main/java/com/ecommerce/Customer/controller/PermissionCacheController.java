@@ -0,0 +1,31 @@
+package com.ecommerce.Customer.controller;
+
+import com.ecommerce.Customer.dto.PermissionCacheStatsDto;
+import com.ecommerce.Customer.service.PermissionCache;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/permissions")
+@RequiredArgsConstructor
+public class PermissionCacheController {
+
+    private final PermissionCache permissionCache;
+
+    @GetMapping("/stats")
+    public ResponseEntity<PermissionCacheStatsDto> getStats() {
+        return ResponseEntity.ok(permissionCache.stats());
+    }
+
+    @DeleteMapping("/{user}")
+    public ResponseEntity<Void> invalidate(@PathVariable String user) {
+        permissionCache.invalidate(user);
+        return ResponseEntity.noContent().build();
+    }
+}
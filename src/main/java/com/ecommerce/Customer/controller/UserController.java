@@ -1,20 +1,36 @@
 package com.ecommerce.Customer.controller;
 
+import com.ecommerce.Customer.batch.ProgressStream;
+import com.ecommerce.Customer.batch.SuccessErrorAggregator;
+import com.ecommerce.Customer.config.BatchProperties;
 import com.ecommerce.Customer.dto.UserCallExternalResponseDTO;
 import com.ecommerce.Customer.dto.FullUserResponseDTO;
 import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
 import com.ecommerce.Customer.dto.UserDTO;
+import com.ecommerce.Customer.dto.UserPageDto;
 import com.ecommerce.Customer.dto.UserResponseBatchSuccessErrorDto;
 import com.ecommerce.Customer.dto.UserResponseFullBatchSuccessErrorDto;
 import com.ecommerce.Customer.dto.UserCallFullResponse;
+import com.ecommerce.Customer.repository.UserSearchCriteria;
+import com.ecommerce.Customer.service.ExportFormat;
+import com.ecommerce.Customer.service.IdempotencyKeyNotSupportedException;
+import com.ecommerce.Customer.service.IdempotencyStore;
+import com.ecommerce.Customer.service.UserExporter;
 import com.ecommerce.Customer.service.UserService;
 import com.ecommerce.Customer.util.UserDataCallExternalApiGenerator;
+import com.ecommerce.Customer.util.NdjsonReader;
 import com.ecommerce.Customer.util.UserDataGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.netty.handler.timeout.ReadTimeoutException;
 import io.netty.handler.timeout.WriteTimeoutException;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -24,21 +40,115 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final UserService userService;
     // private final UserDataGenerator userDataGenerator;
     private final UserDataCallExternalApiGenerator userDataCallExternalApiGenerator;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final BatchProperties batchProperties;
+    private final UserExporter userExporter;
 
+    /**
+     * One page of users in creation order. When more users match, the {@code X-Next-Cursor} header
+     * carries the cursor for the next page.
+     */
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<UserDTO>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String usernamePrefix) {
+        UserSearchCriteria criteria = UserSearchCriteria.builder()
+            .roleCode(role)
+            .createdFrom(createdFrom)
+            .createdTo(createdTo)
+            .usernamePrefix(usernamePrefix)
+            .build();
+        UserPageDto page = userService.listUsers(criteria, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getUsers());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UserDTO> getUser(@PathVariable String id) {
+        return ResponseEntity.ok(userService.getUser(id));
+    }
+
+    @GetMapping("/by-username/{username}")
+    public ResponseEntity<UserDTO> getUserByUsername(@PathVariable String username) {
+        return ResponseEntity.ok(userService.getUserByUsername(username));
+    }
+
+    @GetMapping("/by-email/{email}")
+    public ResponseEntity<UserDTO> getUserByEmail(@PathVariable String email) {
+        return ResponseEntity.ok(userService.getUserByEmail(email));
+    }
+
+    /**
+     * Streams every user as NDJSON or CSV ({@code format=ndjson|csv}), gzipped when the client accepts gzip.
+     * Written on the request thread, so the async request timeout does not cut off long exports.
+     * Answers 429 while {@code user-listing.export.max-concurrent-exports} exports are already running.
+     */
+    @GetMapping("/export")
+    public void exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unsupported export format: " + format);
+            return;
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        response.setContentType(exportFormat.getMediaType().toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("users." + exportFormat.getExtension())
+            .build()
+            .toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        // syncFlush so every batch the exporter flushes reaches the client instead of waiting in the deflater
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), 8192, true)
+                : response.getOutputStream()) {
+            userExporter.export(exportFormat, out);
+        } catch (RejectedExecutionException e) {
+            // Rejected before any row was written, so the response is not committed yet
+            response.reset();
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
+        }
     }
 
     @GetMapping("/generate")
@@ -49,77 +159,96 @@ public class UserController {
 
     @PostMapping("/batch")
     public ResponseEntity<List<UserCallExternalResponseDTO>> createUser(
-            @RequestHeader("X-Current-User") String currentUser,
+            @RequestHeader("X-Current-User") @Size(max = 50) String currentUser,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody(required = false) List<UserCallExternalRequestDTO> userCallExternalRequestDTO) {
         List<UserCallExternalRequestDTO> requests = userCallExternalRequestDTO != null ? 
             userCallExternalRequestDTO : 
             userDataCallExternalApiGenerator.generateUsers(20);
-        return ResponseEntity.ok(userService.createUser(currentUser, requests));
+        return ResponseEntity.ok(idempotencyStore.mono("batch:" + currentUser, idempotencyKey, userCallExternalRequestDTO,
+                () -> Mono.fromCallable(() -> userService.createUser(currentUser, requests)))
+            .block());
     }
 
     @PostMapping(value = "/batch/reactive", produces = MediaType.APPLICATION_NDJSON_VALUE)
-    public Flux<UserCallExternalResponseDTO> createUserReactive(
-            @RequestHeader("X-Current-User") String currentUser,
+    public Flux<?> createUserReactive(
+            @RequestHeader("X-Current-User") @Size(max = 50) String currentUser,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestParam(defaultValue = "0") long progressIntervalMs,
             @RequestBody(required = false) List<UserCallExternalRequestDTO> userCallExternalRequestDTO) {
         List<UserCallExternalRequestDTO> requests = userCallExternalRequestDTO != null ? 
             userCallExternalRequestDTO : 
             userDataCallExternalApiGenerator.generateUsers(20);
-        return userService.createUserReactive(currentUser, requests);
+        Flux<UserCallExternalResponseDTO> results = idempotencyStore.flux("batch/reactive:" + currentUser, idempotencyKey,
+            userCallExternalRequestDTO, () -> userService.createUserReactive(currentUser, requests));
+        return withOptionalProgress(results, requests.size(), progressIntervalMs);
+    }
+
+    @PostMapping(value = "/batch/reactive", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<?> createUserReactiveStream(
+            @RequestHeader("X-Current-User") @Size(max = 50) String currentUser,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestParam(defaultValue = "0") long progressIntervalMs,
+            InputStream body) {
+        // A streamed body cannot be fingerprinted up front, and storing its result would hold the whole stream
+        if (idempotencyKey != null) {
+            throw new IdempotencyKeyNotSupportedException("streamed NDJSON uploads");
+        }
+        Flux<UserCallExternalResponseDTO> results = userService.createUserReactiveStream(currentUser,
+            NdjsonReader.read(objectMapper, body, UserCallExternalRequestDTO.class));
+        return withOptionalProgress(results, null, progressIntervalMs);
     }
 
     @PostMapping(value = "/batch/reactive/list", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<UserCallExternalResponseDTO>>> createUserReactiveAsList(
-            @RequestHeader("X-Current-User") String currentUser,
+            @RequestHeader("X-Current-User") @Size(max = 50) String currentUser,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody(required = false) List<UserCallExternalRequestDTO> userCallExternalRequestDTO) {
         List<UserCallExternalRequestDTO> requests = userCallExternalRequestDTO != null ? 
             userCallExternalRequestDTO : 
             userDataCallExternalApiGenerator.generateUsers(20);
-        return userService.createUserReactiveAsList(currentUser, requests)
+        return idempotencyStore.mono("batch/reactive/list:" + currentUser, idempotencyKey, userCallExternalRequestDTO,
+                () -> userService.createUserReactiveAsList(currentUser, requests))
             .map(ResponseEntity::ok)
             .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError().build()));
     }
 
     @PostMapping("/batch/reactive/test")
     public Flux<FullUserResponseDTO> createUserReactiveTest(
-            @RequestHeader("X-Current-User") String currentUser,
+            @RequestHeader("X-Current-User") @Size(max = 50) String currentUser,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody(required = false) List<UserCallExternalRequestDTO> userCallExternalRequestDTO) {
         List<UserCallExternalRequestDTO> requests = userCallExternalRequestDTO != null ? 
             userCallExternalRequestDTO : 
             userDataCallExternalApiGenerator.generateUsers(20);
-        return userService.createUserReactiveTest(currentUser, requests);
+        return idempotencyStore.flux("batch/reactive/test:" + currentUser, idempotencyKey, userCallExternalRequestDTO,
+            () -> userService.createUserReactiveTest(currentUser, requests));
     }
 
     @PostMapping("/batch/reactive/test/success_error")
     public Mono<ResponseEntity<Flux<UserResponseFullBatchSuccessErrorDto>>> createUserReactiveTestSuccessError(
-            @RequestHeader("X-Current-User") String currentUser,
+            @RequestHeader("X-Current-User") @Size(max = 50) String currentUser,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestParam(required = false) Boolean compact,
             @RequestBody(required = false) List<UserCallExternalRequestDTO> userCallExternalRequestDTO) {
         List<UserCallExternalRequestDTO> requests = userCallExternalRequestDTO != null ? 
             userCallExternalRequestDTO : 
             userDataCallExternalApiGenerator.generateUsers(20);
-        
-    return userService.createUserReactiveTestSuccessError(currentUser, requests)
-        .collectList()
-        .flatMap(results -> {
-            int successCount = (int) results.stream()
-                .filter(r -> r.getHttpStatus().equals(HttpStatus.OK))
-                .count();
-            
-            HttpStatus responseStatus;
-            if (successCount < 3) {
-                responseStatus = HttpStatus.BAD_REQUEST;
-            } else if (successCount == 3) {
-                responseStatus = HttpStatus.PARTIAL_CONTENT;
-            } else if (successCount >= 4) {
-                responseStatus = HttpStatus.OK;
-            } else {
-                responseStatus = HttpStatus.FORBIDDEN;
-            }
-            
-            // Return the original results with the appropriate status
-            return Mono.just(ResponseEntity.status(responseStatus)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(Flux.fromIterable(results)));
-        })
+        BatchProperties.Aggregation aggregation = batchProperties.getAggregation();
+        boolean compactResponse = compact != null ? compact
+            : aggregation.isCompact() || requests.size() > aggregation.getCompactAboveUsers();
+
+    // Chunks are folded as they arrive, so only the merged result is held (and replayed for idempotent retries)
+    return idempotencyStore.flux("batch/reactive/test/success_error:" + (compactResponse ? "compact:" : "") + currentUser,
+            idempotencyKey, userCallExternalRequestDTO,
+            () -> SuccessErrorAggregator.aggregate(userService.createUserReactiveTestSuccessError(currentUser, requests),
+                    compactResponse, aggregation.getMaxErrorSamples())
+                .map(aggregator -> new SuccessErrorResult(aggregator.responseStatus(), aggregator.result()))
+                .flux())
+        .next()
+        .map(result -> ResponseEntity.status(result.status())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Flux.just(result.body())))
         .onErrorResume(e -> {
             HttpStatus errorStatus = HttpStatus.INTERNAL_SERVER_ERROR;
             if (e instanceof WebClientResponseException) {
@@ -138,4 +267,18 @@ public class UserController {
                 .body(Flux.just(errorResponse)));
         });
     }
+
+    /**
+     * What the success_error endpoint stores for idempotent replays: the merged result and its response status.
+     */
+    record SuccessErrorResult(HttpStatus status, UserResponseFullBatchSuccessErrorDto body) {
+    }
+
+    private Flux<?> withOptionalProgress(Flux<UserCallExternalResponseDTO> results, Integer total, long progressIntervalMs) {
+        if (progressIntervalMs <= 0) {
+            return results;
+        }
+        return ProgressStream.withProgress(results, total, Duration.ofMillis(progressIntervalMs),
+            UserCallExternalResponseDTO::getStatus);
+    }
 }
@@ -0,0 +1,87 @@
+package com.ecommerce.Customer.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events while virtual threads are enabled. A virtual thread that
+ * blocks inside a {@code synchronized} block or native frame (e.g. JavaMail's SMTP transport or a JDBC driver)
+ * keeps its carrier thread, so each pin longer than {@code threshold} is logged with its stack and timed
+ * under {@code jvm.threads.virtual.pinned}.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "diagnostics.virtual-threads.pinning", name = "enabled", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final int stackDepth;
+    private final Timer pinnedTimer;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${diagnostics.virtual-threads.pinning.threshold:20ms}") Duration threshold,
+            @Value("${diagnostics.virtual-threads.pinning.stack-depth:8}") int stackDepth,
+            MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.stackDepth = stackDepth;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent pinned to their carrier thread")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Monitoring virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        log.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), stack(event.getStackTrace()));
+    }
+
+    private String stack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t<no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+            .limit(stackDepth)
+            .map(VirtualThreadPinningMonitor::frame)
+            .collect(Collectors.joining("\n"));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + "(line " + frame.getLineNumber() + ")";
+    }
+
+    @Override
+    public void destroy() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.Customer.dto;
+
+import com.ecommerce.Customer.job.BatchJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchJobDto {
+    private String jobId;
+    private BatchJobStatus status;
+    private int totalUsers;
+    private int processedChunks;
+    private int successCount;
+    private int failureCount;
+    private Map<String, Long> chunkStatusCounts;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    // Only set once the job has finished
+    private UserResponseBatchSuccessErrorDto result;
+}
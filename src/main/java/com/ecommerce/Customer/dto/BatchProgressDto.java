@@ -0,0 +1,20 @@
+package com.ecommerce.Customer.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchProgressDto {
+    // "progress" for periodic records, "summary" for the final one
+    private String type;
+    // null when the batch size is not known up front (streamed uploads)
+    private Integer total;
+    private long processed;
+    private long elapsedMs;
+    private Map<String, Long> statusCounts;
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.Customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PermissionCacheStatsDto {
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long loadSuccessCount;
+    private long loadFailureCount;
+    private double averageLoadPenaltyMs;
+    private long evictionCount;
+}
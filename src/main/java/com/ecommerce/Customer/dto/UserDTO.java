@@ -1,5 +1,6 @@
 package com.ecommerce.Customer.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,6 +16,8 @@ import java.util.Set;
 public class UserDTO {
     private String id;
     private String username;
+    // Read projections never load it, so listings omit the field instead of sending null
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String password;
     private String email;
     private LocalDate birthday;
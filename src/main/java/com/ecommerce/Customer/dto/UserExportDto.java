@@ -0,0 +1,28 @@
+package com.ecommerce.Customer.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One exported user. Deliberately has no password field.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"id", "username", "email", "birthday", "address", "createdAt", "updatedAt", "roles"})
+public class UserExportDto {
+    private String id;
+    private String username;
+    private String email;
+    private LocalDate birthday;
+    private String address;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<String> roles;
+}
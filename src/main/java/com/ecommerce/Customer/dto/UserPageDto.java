@@ -0,0 +1,16 @@
+package com.ecommerce.Customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserPageDto {
+    private List<UserDTO> users;
+    // null on the last page
+    private String nextCursor;
+}
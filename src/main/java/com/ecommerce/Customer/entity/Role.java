@@ -1,9 +1,9 @@
 package com.ecommerce.Customer.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JavaType;
 import jakarta.validation.constraints.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -17,12 +17,9 @@ import java.util.Set;
 @Table(name = "roles")
 public class Role {
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(
-        name = "UUID",
-        strategy = "org.hibernate.id.UUIDGenerator"
-    )
-    @Column(length = 36, updatable = false)
+    @TimeOrderedUuid
+    @JavaType(UuidBinaryJavaType.class)
+    @Column(length = 16, updatable = false)
     private String id;
 
     @NotBlank(message = "Role code is required")
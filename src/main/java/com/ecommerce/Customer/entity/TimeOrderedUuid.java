@@ -0,0 +1,17 @@
+package com.ecommerce.Customer.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated id with {@link TimeOrderedUuidGenerator}.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
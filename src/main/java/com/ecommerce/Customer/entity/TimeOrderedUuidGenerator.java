@@ -0,0 +1,57 @@
+package com.ecommerce.Customer.entity;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates UUIDv7 ids (RFC 9562): a 48-bit millisecond timestamp, a 12-bit counter that keeps ids from this
+ * JVM strictly increasing within a millisecond, and 62 random bits. Stored big-endian by
+ * {@link UuidBinaryJavaType}, consecutive ids land at the right edge of the primary key index instead of
+ * splitting random pages. Setting {@value #TIME_ORDERED_SETTING} to {@code false} falls back to random UUIDv4.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    public static final String TIME_ORDERED_SETTING = "customer.ids.time-ordered";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // (unix millis << 12) | counter of the last id handed out
+    private static final AtomicLong LAST_STAMP = new AtomicLong();
+
+    private final boolean timeOrdered;
+
+    public TimeOrderedUuidGenerator(TimeOrderedUuid config, Member member, CustomIdGeneratorCreationContext context) {
+        this.timeOrdered = context.getServiceRegistry()
+            .requireService(ConfigurationService.class)
+            .getSetting(TIME_ORDERED_SETTING, StandardConverters.BOOLEAN, true);
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        // more than 4096 ids in one millisecond borrow from the next one rather than break ordering
+        long stamp = LAST_STAMP.updateAndGet(last -> Math.max(last + 1, now));
+        long mostSigBits = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return (timeOrdered ? next() : UUID.randomUUID()).toString();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
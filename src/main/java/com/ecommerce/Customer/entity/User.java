@@ -1,9 +1,10 @@
 package com.ecommerce.Customer.entity;
 
+import com.ecommerce.Customer.service.UserCacheInvalidator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JavaType;
 import jakarta.validation.constraints.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -16,14 +17,12 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidator.class)
 public class User {
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(
-        name = "UUID",
-        strategy = "org.hibernate.id.UUIDGenerator"
-    )
-    @Column(length = 36, updatable = false)
+    @TimeOrderedUuid
+    @JavaType(UuidBinaryJavaType.class)
+    @Column(length = 16, updatable = false)
     private String id;
 
     @NotBlank(message = "Username is required")
@@ -0,0 +1,88 @@
+package com.ecommerce.Customer.entity;
+
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractClassJavaType;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Keeps ids as canonical UUID strings in the domain and the API while storing them as {@code BINARY(16)}.
+ * A Hibernate java type rather than a JPA {@code AttributeConverter}, which is not applied to {@code @Id}
+ * attributes; it also types join columns and query parameters that refer to the id.
+ * Bytes are in canonical (big-endian) order, matching MySQL's {@code UUID_TO_BIN(id)} without the swap flag.
+ */
+public class UuidBinaryJavaType extends AbstractClassJavaType<String> {
+
+    public UuidBinaryJavaType() {
+        super(String.class);
+    }
+
+    public static byte[] toBytes(String id) {
+        if (id == null) {
+            return null;
+        }
+        UUID uuid = UUID.fromString(id);
+        return ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+
+    @Override
+    public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+        return indicators.getJdbcType(SqlTypes.BINARY);
+    }
+
+    @Override
+    public String toString(String value) {
+        return value;
+    }
+
+    @Override
+    public String fromString(CharSequence string) {
+        return string == null ? null : string.toString();
+    }
+
+    @Override
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (byte[].class.equals(type)) {
+            return type.cast(toBytes(value));
+        }
+        if (String.class.equals(type) || Object.class.equals(type)) {
+            return type.cast(value);
+        }
+        throw unknownUnwrap(type);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof byte[] bytes) {
+            return fromBytes(bytes);
+        }
+        if (value instanceof String id) {
+            return id;
+        }
+        if (value instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        throw unknownWrap(value.getClass());
+    }
+}
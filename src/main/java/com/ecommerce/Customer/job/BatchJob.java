@@ -0,0 +1,126 @@
+package com.ecommerce.Customer.job;
+
+import com.ecommerce.Customer.dto.BatchJobDto;
+import com.ecommerce.Customer.dto.UserBatchErrorDto;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.dto.UserResponseBatchSuccessErrorDto;
+import com.ecommerce.Customer.dto.UserResponseFullBatchSuccessErrorDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of one submitted batch. Chunk results are folded in as they arrive and every change is
+ * published as a {@link BatchJobDto} snapshot; late subscribers get the latest snapshot first.
+ * Only counts and the first {@code maxErrorSamples} errors are kept, so a finished job stays small
+ * for the whole retention period whatever the batch size.
+ */
+class BatchJob {
+
+    private final String jobId;
+    private final String requestedBy;
+    private final int totalUsers;
+    private final int maxErrorSamples;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final Sinks.Many<BatchJobDto> updates = Sinks.many().replay().latest();
+    private final Map<String, Long> chunkStatusCounts = new LinkedHashMap<>();
+    private final List<UserBatchErrorDto> errorUsers = new ArrayList<>();
+    private List<UserCallExternalRequestDTO> users;
+    private BatchJobStatus status = BatchJobStatus.QUEUED;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    private int processedChunks;
+    private int successCount;
+    private int failureCount;
+
+    BatchJob(String jobId, String requestedBy, List<UserCallExternalRequestDTO> users, int maxErrorSamples) {
+        this.jobId = jobId;
+        this.requestedBy = requestedBy;
+        this.users = users;
+        this.totalUsers = users.size();
+        this.maxErrorSamples = maxErrorSamples;
+        publish();
+    }
+
+    String getJobId() {
+        return jobId;
+    }
+
+    String getRequestedBy() {
+        return requestedBy;
+    }
+
+    synchronized List<UserCallExternalRequestDTO> start() {
+        status = BatchJobStatus.RUNNING;
+        startedAt = LocalDateTime.now();
+        List<UserCallExternalRequestDTO> pending = users;
+        // The service holds the users from here on; the job only keeps results
+        users = null;
+        publish();
+        return pending;
+    }
+
+    synchronized void accumulate(UserResponseFullBatchSuccessErrorDto chunkResult) {
+        processedChunks++;
+        chunkStatusCounts.merge(chunkResult.getHttpStatus().name(), 1L, Long::sum);
+        UserResponseBatchSuccessErrorDto body = chunkResult.getBody();
+        if (body != null) {
+            successCount += body.getSuccessCount();
+            failureCount += body.getFailureCount();
+            int room = maxErrorSamples - errorUsers.size();
+            if (body.getErrorUsers() != null && room > 0) {
+                errorUsers.addAll(body.getErrorUsers().subList(0, Math.min(room, body.getErrorUsers().size())));
+            }
+        }
+        publish();
+    }
+
+    synchronized void complete() {
+        finish(BatchJobStatus.COMPLETED, null);
+    }
+
+    synchronized void fail(String message) {
+        finish(BatchJobStatus.FAILED, message);
+    }
+
+    synchronized boolean isExpired(LocalDateTime cutoff) {
+        return status.isFinished() && finishedAt.isBefore(cutoff);
+    }
+
+    synchronized BatchJobDto snapshot() {
+        UserResponseBatchSuccessErrorDto result = null;
+        if (status.isFinished()) {
+            int processed = successCount + failureCount;
+            float successRate = processed == 0 ? 0.0f : successCount * 100.0f / processed;
+            result = new UserResponseBatchSuccessErrorDto(successCount, failureCount, successRate,
+                new ArrayList<>(), new ArrayList<>(errorUsers));
+        }
+        return new BatchJobDto(jobId, status, totalUsers, processedChunks, successCount, failureCount,
+            new LinkedHashMap<>(chunkStatusCounts), submittedAt, startedAt, finishedAt, error, result);
+    }
+
+    Flux<BatchJobDto> updates() {
+        return updates.asFlux()
+            .takeUntil(update -> update.getStatus().isFinished());
+    }
+
+    private void finish(BatchJobStatus finalStatus, String message) {
+        status = finalStatus;
+        error = message;
+        finishedAt = LocalDateTime.now();
+        users = null;
+        publish();
+        updates.tryEmitComplete();
+    }
+
+    private void publish() {
+        // Callers hold the monitor, so emissions are serialized
+        updates.tryEmitNext(snapshot());
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecommerce.Customer.job;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import com.ecommerce.Customer.dto.BatchJobDto;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.service.UserService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs success_error batches as background jobs. Submissions go into a bounded queue and at most
+ * {@code batch.jobs.max-concurrent-jobs} run at once; when the queue is full, new jobs are rejected
+ * instead of piling up. Finished jobs stay queryable for {@code batch.jobs.retention}, and at most
+ * {@code batch.jobs.max-finished-jobs} of them are kept; beyond that the oldest finished job is dropped early.
+ * Jobs start on a dedicated {@code batch-job} scheduler sized to the concurrency limit, never on the submitting
+ * request thread or on the thread that finished the previous job.
+ */
+@Slf4j
+@Component
+public class BatchJobService implements DisposableBean {
+
+    private final UserService userService;
+    private final BatchProperties.Jobs config;
+    private final Map<String, BatchJob> jobs = new ConcurrentHashMap<>();
+    // Finished job ids, oldest first; may still hold ids already removed by expiry
+    private final Deque<String> finished = new ConcurrentLinkedDeque<>();
+    private final Sinks.Many<BatchJob> submissions;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final Scheduler jobScheduler;
+    private final Disposable worker;
+
+    public BatchJobService(UserService userService, BatchProperties batchProperties, MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.config = batchProperties.getJobs();
+        this.jobScheduler = Schedulers.newBoundedElastic(
+            config.getMaxConcurrentJobs(), config.getQueueCapacity(), "batch-job");
+        this.submissions = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(config.getQueueCapacity()));
+        this.worker = submissions.asFlux()
+            .flatMap(this::run, config.getMaxConcurrentJobs())
+            .subscribe();
+        Gauge.builder("batch.jobs.queued", queued, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("batch.jobs.running", running, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public BatchJobDto submit(String requestedBy, List<UserCallExternalRequestDTO> users) {
+        if (queued.incrementAndGet() > config.getQueueCapacity()) {
+            queued.decrementAndGet();
+            throw new RejectedExecutionException("Batch job queue is full");
+        }
+        BatchJob job = new BatchJob(UUID.randomUUID().toString(), requestedBy, users, config.getMaxErrorSamples());
+        jobs.put(job.getJobId(), job);
+        if (emit(job).isFailure()) {
+            jobs.remove(job.getJobId());
+            queued.decrementAndGet();
+            throw new RejectedExecutionException("Batch job queue is full");
+        }
+        log.info("Queued batch job {} with {} users for {}", job.getJobId(), users.size(), requestedBy);
+        return job.snapshot();
+    }
+
+    private Sinks.EmitResult emit(BatchJob job) {
+        // The sink is unicast: concurrent submits lose the race with FAIL_NON_SERIALIZED and simply retry
+        Sinks.EmitResult result;
+        while ((result = submissions.tryEmitNext(job)) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            Thread.onSpinWait();
+        }
+        return result;
+    }
+
+    public Optional<BatchJobDto> get(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(BatchJob::snapshot);
+    }
+
+    public Optional<Flux<BatchJobDto>> updates(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(BatchJob::updates);
+    }
+
+    private Mono<Void> run(BatchJob job) {
+        // flatMap only hands a job over once a run slot is free, so it has left the queue here
+        queued.decrementAndGet();
+        return Mono.defer(() -> {
+                running.incrementAndGet();
+                List<UserCallExternalRequestDTO> users = job.start();
+                log.info("Thread [{}] - Starting batch job {}", Thread.currentThread().getName(), job.getJobId());
+                return userService.createUserReactiveTestSuccessError(job.getRequestedBy(), users)
+                    .doOnNext(job::accumulate)
+                    .then();
+            })
+            .subscribeOn(jobScheduler)
+            .doOnSuccess(v -> {
+                job.complete();
+                log.info("Batch job {} completed", job.getJobId());
+            })
+            .onErrorResume(e -> {
+                log.error("Batch job {} failed: {}", job.getJobId(), e.getMessage());
+                job.fail(e.getMessage());
+                return Mono.empty();
+            })
+            .doFinally(signalType -> {
+                running.decrementAndGet();
+                retain(job);
+            });
+    }
+
+    private void retain(BatchJob job) {
+        finished.addLast(job.getJobId());
+        while (finished.size() > config.getMaxFinishedJobs()) {
+            String oldest = finished.pollFirst();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${batch.jobs.cleanup-interval:PT1M}")
+    public void removeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(config.getRetention());
+        jobs.values().removeIf(job -> job.isExpired(cutoff));
+    }
+
+    @Override
+    public void destroy() {
+        worker.dispose();
+        jobScheduler.dispose();
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.Customer.job;
+
+public enum BatchJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,194 @@
+package com.ecommerce.Customer.journal;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records accepted batches, their chunk boundaries and per-chunk outcomes in MySQL so that chunks that
+ * never got an answer can be resumed. Each batch is leased to the instance running it, which renews the
+ * lease while the batch is active here; once a batch finishes, fails or loses its client the lease is left
+ * to run out, and whichever instance claims it next resumes it. Chunk payloads are kept only until the
+ * batch completes; completed batches are deleted after {@code batch.journal.retention}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchJournal {
+
+    private static final TypeReference<List<UserCallExternalRequestDTO>> CHUNK_TYPE = new TypeReference<>() {};
+
+    static final String STATUS_ACCEPTED = "ACCEPTED";
+    static final String STATUS_COMPLETED = "COMPLETED";
+    static final String CHUNK_PENDING = "PENDING";
+    static final String CHUNK_DONE = "DONE";
+
+    private final JournalWriter journalWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BatchProperties batchProperties;
+    private final String generatedInstanceId = UUID.randomUUID().toString();
+    // Batches this instance is running, whose leases it keeps renewing
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
+
+    public String instanceId() {
+        String configured = batchProperties.getJournal().getInstanceId();
+        return configured != null ? configured : generatedInstanceId;
+    }
+
+    public Mono<JournaledBatch> accept(String requestedBy, List<List<UserCallExternalRequestDTO>> chunks) {
+        return Mono.fromCallable(() -> {
+                String batchId = UUID.randomUUID().toString();
+                List<JournaledChunk> pending = new ArrayList<>(chunks.size());
+                List<JournalWriter.Statement> statements = new ArrayList<>(chunks.size() + 1);
+                int totalItems = chunks.stream().mapToInt(List::size).sum();
+                statements.add(new JournalWriter.Statement(
+                    "INSERT INTO batch_journal (id, requested_by, total_items, total_chunks, status, owner, lease_expires_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP))",
+                    batchId, requestedBy, totalItems, chunks.size(), STATUS_ACCEPTED, instanceId(), leaseSeconds()));
+                int offset = 0;
+                for (int i = 0; i < chunks.size(); i++) {
+                    List<UserCallExternalRequestDTO> chunk = chunks.get(i);
+                    statements.add(new JournalWriter.Statement(
+                        "INSERT INTO batch_journal_chunk (batch_id, chunk_index, start_offset, item_count, payload, status) VALUES (?, ?, ?, ?, ?, ?)",
+                        batchId, i, offset, chunk.size(), serialize(chunk), CHUNK_PENDING));
+                    pending.add(new JournaledChunk(i, chunk));
+                    offset += chunk.size();
+                }
+                return new PreparedBatch(new JournaledBatch(batchId, requestedBy, pending), statements);
+            })
+            // Serializing a large batch must not run on the event loop that happened to subscribe
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(prepared -> journalWriter.append(prepared.statements()).thenReturn(prepared.batch()))
+            .doOnNext(batch -> active.add(batch.getBatchId()))
+            .doOnNext(batch -> log.info("Journaled batch {} with {} chunks", batch.getBatchId(), chunks.size()));
+    }
+
+    public Mono<Void> recordOutcome(String batchId, int chunkIndex, int httpStatus) {
+        return journalWriter.append(List.of(new JournalWriter.Statement(
+            "UPDATE batch_journal_chunk SET status = ?, http_status = ? WHERE batch_id = ? AND chunk_index = ?",
+            CHUNK_DONE, httpStatus, batchId, chunkIndex)));
+    }
+
+    /**
+     * Notes the status of a chunk that never reached the downstream (open circuit, full bulkhead, connect
+     * failure or timeout). The chunk stays pending, so whichever instance claims the batch next re-sends it.
+     */
+    public Mono<Void> recordUndelivered(String batchId, int chunkIndex, int httpStatus) {
+        return journalWriter.append(List.of(new JournalWriter.Statement(
+            "UPDATE batch_journal_chunk SET http_status = ? WHERE batch_id = ? AND chunk_index = ?",
+            httpStatus, batchId, chunkIndex)));
+    }
+
+    public Mono<Void> complete(String batchId) {
+        return journalWriter.append(List.of(
+                new JournalWriter.Statement("UPDATE batch_journal SET status = ? WHERE id = ?", STATUS_COMPLETED, batchId),
+                new JournalWriter.Statement("UPDATE batch_journal_chunk SET payload = NULL WHERE batch_id = ?", batchId)))
+            .doOnSuccess(v -> log.info("Batch {} completed", batchId));
+    }
+
+    /**
+     * Stops renewing the lease of a batch this instance no longer runs. An unfinished batch becomes
+     * claimable once the lease runs out.
+     */
+    public void release(String batchId) {
+        active.remove(batchId);
+    }
+
+    public int renewLeases() {
+        if (!batchProperties.getJournal().isEnabled() || active.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> args = active.stream()
+            .map(batchId -> new Object[] {leaseSeconds(), batchId, instanceId()})
+            .toList();
+        int[] counts = jdbcTemplate.batchUpdate(
+            "UPDATE batch_journal SET lease_expires_at = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP) WHERE id = ? AND owner = ?",
+            args);
+        return Arrays.stream(counts).map(count -> Math.max(count, 0)).sum();
+    }
+
+    /**
+     * Takes over unfinished batches whose lease has expired, including those abandoned by this instance,
+     * and returns them with their pending chunks. Each claim is a conditional update, so a batch is
+     * claimed by at most one instance per lease.
+     */
+    public List<JournaledBatch> claimExpired() {
+        if (!batchProperties.getJournal().isEnabled()) {
+            return List.of();
+        }
+        List<JournaledBatch> candidates = jdbcTemplate.query(
+            "SELECT id, requested_by FROM batch_journal WHERE status = ? "
+                + "AND (lease_expires_at IS NULL OR lease_expires_at < CURRENT_TIMESTAMP) ORDER BY created_at",
+            (rs, rowNum) -> new JournaledBatch(rs.getString("id"), rs.getString("requested_by"), new ArrayList<>()),
+            STATUS_ACCEPTED);
+        List<JournaledBatch> claimed = new ArrayList<>(candidates.size());
+        for (JournaledBatch batch : candidates) {
+            int updated = jdbcTemplate.update(
+                "UPDATE batch_journal SET owner = ?, lease_expires_at = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP) "
+                    + "WHERE id = ? AND status = ? AND (lease_expires_at IS NULL OR lease_expires_at < CURRENT_TIMESTAMP)",
+                instanceId(), leaseSeconds(), batch.getBatchId(), STATUS_ACCEPTED);
+            if (updated == 0) {
+                continue;
+            }
+            active.add(batch.getBatchId());
+            batch.getPendingChunks().addAll(jdbcTemplate.query(
+                "SELECT chunk_index, payload FROM batch_journal_chunk WHERE batch_id = ? AND status = ? ORDER BY chunk_index",
+                (rs, rowNum) -> new JournaledChunk(rs.getInt("chunk_index"), deserialize(rs.getString("payload"))),
+                batch.getBatchId(), CHUNK_PENDING));
+            claimed.add(batch);
+        }
+        return claimed;
+    }
+
+    public int compact(Duration retention) {
+        if (!batchProperties.getJournal().isEnabled()) {
+            return 0;
+        }
+        // Chunk rows go with their batch through ON DELETE CASCADE
+        return jdbcTemplate.update("DELETE FROM batch_journal WHERE status = ? AND updated_at < ?",
+            STATUS_COMPLETED, Timestamp.from(Instant.now().minus(retention)));
+    }
+
+    private long leaseSeconds() {
+        return batchProperties.getJournal().getLeaseDuration().toSeconds();
+    }
+
+    private String serialize(List<UserCallExternalRequestDTO> chunk) {
+        try {
+            return objectMapper.writeValueAsString(chunk);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize chunk for journal", e);
+        }
+    }
+
+    private List<UserCallExternalRequestDTO> deserialize(String payload) {
+        try {
+            return objectMapper.readValue(payload, CHUNK_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read journaled chunk", e);
+        }
+    }
+
+    private record PreparedBatch(JournaledBatch batch, List<JournalWriter.Statement> statements) {
+    }
+}
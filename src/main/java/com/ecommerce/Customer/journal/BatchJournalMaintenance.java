@@ -0,0 +1,75 @@
+package com.ecommerce.Customer.journal;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import com.ecommerce.Customer.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Keeps the leases of batches running here alive, claims and resumes unfinished batches whose lease has
+ * expired (once the application is ready and then periodically), and drops completed batches from the journal.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchJournalMaintenance {
+
+    private final BatchJournal batchJournal;
+    private final UserService userService;
+    private final BatchProperties batchProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${batch.journal.claim-interval:PT1M}", fixedDelayString = "${batch.journal.claim-interval:PT1M}")
+    public void resumeUnfinished() {
+        List<JournaledBatch> batches;
+        try {
+            batches = batchJournal.claimExpired();
+        } catch (RuntimeException e) {
+            log.error("Could not claim from batch journal, skipping resume: {}", e.getMessage());
+            return;
+        }
+        if (batches.isEmpty()) {
+            return;
+        }
+        log.info("Claimed {} unfinished batches from journal as {}", batches.size(), batchJournal.instanceId());
+        Flux.fromIterable(batches)
+            .concatMap(batch -> userService.resumeJournaledBatch(batch)
+                .count()
+                .doOnNext(chunks -> log.info("Resumed batch {}: {} chunks re-sent", batch.getBatchId(), chunks))
+                .onErrorResume(e -> {
+                    log.error("Resuming batch {} failed: {}", batch.getBatchId(), e.getMessage());
+                    return Mono.empty();
+                }))
+            .subscribe();
+    }
+
+    @Scheduled(fixedDelayString = "${batch.journal.lease-renew-interval:PT30S}")
+    public void renewLeases() {
+        try {
+            batchJournal.renewLeases();
+        } catch (RuntimeException e) {
+            log.warn("Batch journal lease renewal failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${batch.journal.compaction-interval:PT1M}")
+    public void compact() {
+        try {
+            int removed = batchJournal.compact(batchProperties.getJournal().getRetention());
+            if (removed > 0) {
+                log.info("Compacted {} completed batches from journal", removed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Batch journal compaction failed: {}", e.getMessage());
+        }
+    }
+}
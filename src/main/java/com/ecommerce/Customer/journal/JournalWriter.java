@@ -0,0 +1,144 @@
+package com.ecommerce.Customer.journal;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single writer thread that group-commits journal statements. Callers enqueue statements and get a
+ * {@link Mono} that completes once they are committed; everything that queues up while one transaction
+ * is in flight is written by the next one, so journaling cost stays flat as batch concurrency grows.
+ * Callers resume on the parallel scheduler, never on the writer thread.
+ */
+@Slf4j
+@Component
+public class JournalWriter implements InitializingBean, DisposableBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchProperties.Journal config;
+    private final BlockingQueue<Write> queue;
+    private final Timer flushTimer;
+    private final DistributionSummary groupSize;
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public JournalWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         BatchProperties batchProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = batchProperties.getJournal();
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.flushTimer = Timer.builder("batch.journal.flush").register(meterRegistry);
+        this.groupSize = DistributionSummary.builder("batch.journal.group.size").register(meterRegistry);
+    }
+
+    public Mono<Void> append(List<Statement> statements) {
+        if (!config.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            Write write = new Write(statements, new CompletableFuture<>());
+            if (!running || !queue.offer(write)) {
+                return Mono.error(new IllegalStateException("Batch journal is not accepting writes"));
+            }
+            // Continue off the writer thread, otherwise downstream work delays the next group commit
+            return Mono.fromFuture(write.done(), true).publishOn(Schedulers.parallel());
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!config.isEnabled()) {
+            log.info("Batch journal disabled");
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::run, "batch-journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    private void run() {
+        List<Write> group = new ArrayList<>(config.getMaxGroupSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Write first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, config.getMaxGroupSize() - 1);
+                flush(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    void flush(List<Write> group) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Consecutive statements with the same SQL go out as one JDBC batch
+                String sql = null;
+                List<Object[]> args = new ArrayList<>();
+                for (Write write : group) {
+                    for (Statement statement : write.statements()) {
+                        if (sql != null && !sql.equals(statement.sql())) {
+                            jdbcTemplate.batchUpdate(sql, args);
+                            args = new ArrayList<>();
+                        }
+                        sql = statement.sql();
+                        args.add(statement.args());
+                    }
+                }
+                if (sql != null) {
+                    jdbcTemplate.batchUpdate(sql, args);
+                }
+            });
+            group.forEach(write -> write.done().complete(null));
+        } catch (RuntimeException e) {
+            log.error("Batch journal flush of {} writes failed: {}", group.size(), e.getMessage());
+            group.forEach(write -> write.done().completeExceptionally(e));
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            groupSize.record(group.size());
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    public record Statement(String sql, Object... args) {
+    }
+
+    record Write(List<Statement> statements, CompletableFuture<Void> done) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.Customer.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A journaled batch and the chunks that have no recorded outcome yet.
+ */
+@Data
+@AllArgsConstructor
+public class JournaledBatch {
+    private String batchId;
+    private String requestedBy;
+    private List<JournaledChunk> pendingChunks;
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.Customer.journal;
+
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class JournaledChunk {
+    private int chunkIndex;
+    private List<UserCallExternalRequestDTO> items;
+}
@@ -5,8 +5,12 @@ import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
 import com.ecommerce.Customer.dto.UserDTO;
 import com.ecommerce.Customer.entity.Role;
 import com.ecommerce.Customer.entity.User;
+import com.ecommerce.Customer.repository.UserRoleView;
+import com.ecommerce.Customer.repository.UserView;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -31,6 +35,37 @@ public class UserMapper {
                 .build();
     }
 
+    public UserDTO toDTO(UserView view, Set<RoleDTO> roles) {
+        if (view == null) {
+            return null;
+        }
+
+        return UserDTO.builder()
+                .id(view.id())
+                .username(view.username())
+                .email(view.email())
+                .birthday(view.birthday())
+                .address(view.address())
+                .createdAt(view.createdAt())
+                .updatedAt(view.updatedAt())
+                .roles(roles)
+                .build();
+    }
+
+    public RoleDTO toRoleDTO(UserRoleView view) {
+        return RoleDTO.builder()
+                .id(view.id())
+                .roleCode(view.roleCode())
+                .roleType(view.roleType())
+                .build();
+    }
+
+    public Map<String, Set<RoleDTO>> toRoleDTOsByUserId(List<UserRoleView> views) {
+        return views.stream()
+                .collect(Collectors.groupingBy(UserRoleView::userId,
+                        Collectors.mapping(this::toRoleDTO, Collectors.toSet())));
+    }
+
     private Set<RoleDTO> mapRoles(Set<Role> roles) {
         if (roles == null) {
             return null;
@@ -0,0 +1,72 @@
+package com.ecommerce.Customer.ratelimit;
+
+import com.ecommerce.Customer.config.CallerLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects batch submissions over the caller's token-bucket limit with 429 and a {@code Retry-After}
+ * header. Callers are identified by {@code X-Current-User}; requests without it are left to the controller.
+ * Buckets of callers idle for {@code bucketIdleTimeout} are dropped, and at most {@code maxTrackedCallers} are kept.
+ */
+@Slf4j
+@Component
+public class CallerRateLimitInterceptor implements HandlerInterceptor {
+
+    static final String CALLER_HEADER = "X-Current-User";
+
+    private final CallerLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+
+    public CallerRateLimitInterceptor(CallerLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxTrackedCallers())
+            .expireAfterAccess(properties.getBucketIdleTimeout())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "caller-rate-limit");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String caller = request.getHeader(CALLER_HEADER);
+        if (!properties.isEnabled() || caller == null || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        long waitNanos = buckets.get(caller, this::bucket).tryAcquire();
+        if (waitNanos == 0) {
+            return true;
+        }
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+        log.warn("Caller {} over rate limit on {}, retry after {}s", caller, request.getRequestURI(), retryAfterSeconds);
+        meterRegistry.counter("caller.rate.limited").increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return false;
+    }
+
+    long trackedCallers() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private TokenBucket bucket(String caller) {
+        CallerLimitProperties.Limit limit = properties.limitFor(caller);
+        return new TokenBucket(limit.getRequestsPerSecond(), limit.getBurst());
+    }
+}
@@ -0,0 +1,169 @@
+package com.ecommerce.Customer.ratelimit;
+
+import com.ecommerce.Customer.config.CallerLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weighted-fair gate in front of downstream chunk calls. At most {@code max-in-flight-chunks} chunks run at
+ * once; waiting chunks are queued per caller and released by deficit round robin, where each turn credits a
+ * caller {@code quantum * weight} users. A caller with a 200k-user import therefore gets its share of the
+ * slots instead of all of them, and small callers are not stuck behind it.
+ *
+ * <p>Chunks wait here rather than at the route bulkheads, whose {@code max-wait-duration} stays 0 because
+ * waiting for a bulkhead permit would block the subscribing thread. The in-flight cap therefore also holds
+ * when caller limits are disabled; every caller then gets weight 1.
+ */
+@Slf4j
+@Component
+public class FairChunkDispatcher {
+
+    private final CallerLimitProperties properties;
+    private final Map<String, CallerQueue> queues = new HashMap<>();
+    private final Deque<CallerQueue> active = new ArrayDeque<>();
+    private int inFlight;
+    private int waiting;
+
+    public FairChunkDispatcher(CallerLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("batch.dispatch.in.flight", this, dispatcher -> dispatcher.inFlight()).register(meterRegistry);
+        Gauge.builder("batch.dispatch.waiting", this, dispatcher -> dispatcher.waiting()).register(meterRegistry);
+    }
+
+    public <T> Mono<T> dispatch(String caller, int cost, Mono<T> call) {
+        return dispatch(caller, cost, call.flux()).singleOrEmpty();
+    }
+
+    public <T> Flux<T> dispatch(String caller, int cost, Flux<T> call) {
+        return Flux.usingWhen(
+            Mono.<Permit>create(sink -> enqueue(new Permit(caller, Math.max(1, cost), sink))),
+            permit -> call,
+            permit -> release(permit),
+            (permit, error) -> release(permit),
+            permit -> release(permit));
+    }
+
+    private void enqueue(Permit permit) {
+        permit.sink.onCancel(() -> cancel(permit));
+        List<Permit> granted;
+        synchronized (this) {
+            CallerQueue queue = queues.computeIfAbsent(permit.caller, CallerQueue::new);
+            if (!queue.scheduled) {
+                queue.scheduled = true;
+                active.addLast(queue);
+            }
+            queue.permits.addLast(permit);
+            waiting++;
+            granted = schedule();
+        }
+        granted.forEach(grant -> grant.sink.success(grant));
+    }
+
+    private Mono<Void> release(Permit permit) {
+        return Mono.fromRunnable(() -> {
+            List<Permit> granted;
+            synchronized (this) {
+                if (!permit.granted || permit.released) {
+                    return;
+                }
+                permit.released = true;
+                inFlight--;
+                granted = schedule();
+            }
+            granted.forEach(grant -> grant.sink.success(grant));
+        });
+    }
+
+    private void cancel(Permit permit) {
+        synchronized (this) {
+            if (!permit.granted) {
+                permit.cancelled = true;
+                return;
+            }
+        }
+        // Cancelled after the slot was handed over but possibly before the call subscribed
+        release(permit).subscribe();
+    }
+
+    // Caller must hold the monitor; returned permits are signalled after it is released
+    private List<Permit> schedule() {
+        List<Permit> granted = new ArrayList<>();
+        int maxInFlight = properties.getMaxInFlightChunks();
+        while (inFlight < maxInFlight && !active.isEmpty()) {
+            CallerQueue queue = active.peekFirst();
+            Permit next = queue.permits.peekFirst();
+            if (next == null || next.cancelled) {
+                if (next != null) {
+                    queue.permits.pollFirst();
+                    waiting--;
+                    continue;
+                }
+                active.pollFirst();
+                queue.scheduled = false;
+                queue.deficit = 0;
+                queues.remove(queue.caller);
+                continue;
+            }
+            if (queue.deficit < next.cost) {
+                int weight = properties.isEnabled() ? properties.limitFor(queue.caller).getWeight() : 1;
+                queue.deficit += (long) properties.getQuantum() * weight;
+                active.addLast(active.pollFirst());
+                continue;
+            }
+            queue.deficit -= next.cost;
+            queue.permits.pollFirst();
+            waiting--;
+            next.granted = true;
+            inFlight++;
+            granted.add(next);
+        }
+        return granted;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized int waiting() {
+        return waiting;
+    }
+
+    private static final class CallerQueue {
+        private final String caller;
+        private final Deque<Permit> permits = new ArrayDeque<>();
+        private long deficit;
+        private boolean scheduled;
+
+        private CallerQueue(String caller) {
+            this.caller = caller;
+        }
+    }
+
+    private static final class Permit {
+        private final String caller;
+        private final int cost;
+        private final MonoSink<Permit> sink;
+        private boolean granted;
+        private boolean released;
+        private boolean cancelled;
+
+        private Permit(String caller, int cost, MonoSink<Permit> sink) {
+            this.caller = caller;
+            this.cost = cost;
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.Customer.ratelimit;
+
+/**
+ * Classic token bucket refilled continuously at {@code ratePerSecond} up to {@code capacity}.
+ */
+public class TokenBucket {
+
+    private final double ratePerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, double capacity) {
+        this.ratePerNano = ratePerSecond / 1_000_000_000.0;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until one will be available
+     */
+    public synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return 0;
+        }
+        return (long) Math.ceil((1.0 - tokens) / ratePerNano);
+    }
+}
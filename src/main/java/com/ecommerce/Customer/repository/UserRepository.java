@@ -1,14 +1,40 @@
 package com.ecommerce.Customer.repository;
 
 import com.ecommerce.Customer.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
-    
-    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles")
-    List<User> findAllUsersWithRoles();
-} 
\ No newline at end of file
+public interface UserRepository extends JpaRepository<User, String>, UserRepositoryCustom {
+
+    @Query("SELECT new com.ecommerce.Customer.repository.UserView("
+        + "u.id, u.username, u.email, u.birthday, u.address, u.createdAt, u.updatedAt) "
+        + "FROM User u WHERE u.id IN :ids")
+    List<UserView> findViewsByIdIn(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT new com.ecommerce.Customer.repository.UserView("
+        + "u.id, u.username, u.email, u.birthday, u.address, u.createdAt, u.updatedAt) "
+        + "FROM User u WHERE u.username = :username")
+    Optional<UserView> findViewByUsername(@Param("username") String username);
+
+    @Query("SELECT new com.ecommerce.Customer.repository.UserView("
+        + "u.id, u.username, u.email, u.birthday, u.address, u.createdAt, u.updatedAt) "
+        + "FROM User u WHERE u.email = :email")
+    Optional<UserView> findViewByEmail(@Param("email") String email);
+
+    @Query("SELECT new com.ecommerce.Customer.repository.UserView("
+        + "u.id, u.username, u.email, u.birthday, u.address, u.createdAt, u.updatedAt) "
+        + "FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserView> findRecentViews(Pageable pageable);
+
+    // Separate from findViewsByIdIn so user columns are not repeated once per role
+    @Query("SELECT new com.ecommerce.Customer.repository.UserRoleView(u.id, r.id, r.roleCode, r.roleType) "
+        + "FROM User u JOIN u.roles r WHERE u.id IN :ids")
+    List<UserRoleView> findRoleViewsByUserIdIn(@Param("ids") Collection<String> ids);
+}
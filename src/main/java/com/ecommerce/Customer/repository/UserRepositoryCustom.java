@@ -0,0 +1,11 @@
+package com.ecommerce.Customer.repository;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Ids of up to {@code limit} users matching {@code criteria}, in {@code (created_at, id)} order.
+     */
+    List<String> findPageIds(UserSearchCriteria criteria, int limit);
+}
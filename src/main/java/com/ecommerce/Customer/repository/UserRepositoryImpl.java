@@ -0,0 +1,70 @@
+package com.ecommerce.Customer.repository;
+
+import com.ecommerce.Customer.entity.Role;
+import com.ecommerce.Customer.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the page query from only the filters that are set, so every variant can use
+ * the {@code (created_at, id)} index instead of a catch-all {@code :param IS NULL OR ...} plan.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<String> findPageIds(UserSearchCriteria criteria, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<User> user = query.from(User.class);
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (criteria.getRoleCode() != null) {
+            // EXISTS rather than a join keeps one row per user without DISTINCT
+            Subquery<String> withRole = query.subquery(String.class);
+            Root<User> sameUser = withRole.correlate(user);
+            Join<User, Role> role = sameUser.join("roles");
+            withRole.select(role.get("id")).where(cb.equal(role.get("roleCode"), criteria.getRoleCode()));
+            predicates.add(cb.exists(withRole));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(user.get("createdAt"), criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(user.get("createdAt"), criteria.getCreatedTo()));
+        }
+        if (criteria.getUsernamePrefix() != null) {
+            predicates.add(cb.like(user.get("username"), escapeLike(criteria.getUsernamePrefix()) + "%", '!'));
+        }
+        if (criteria.getAfterCreatedAt() != null && criteria.getAfterId() != null) {
+            predicates.add(cb.or(
+                cb.greaterThan(user.get("createdAt"), criteria.getAfterCreatedAt()),
+                cb.and(
+                    cb.equal(user.get("createdAt"), criteria.getAfterCreatedAt()),
+                    cb.greaterThan(user.get("id"), criteria.getAfterId()))));
+        }
+
+        query.select(user.get("id"))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.asc(user.get("createdAt")), cb.asc(user.get("id")));
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    // '!' rather than backslash, whose escaping inside SQL literals differs between databases
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.Customer.repository;
+
+/**
+ * One {@code user_role} row joined with its role, as a read-only projection.
+ */
+public record UserRoleView(String userId, String id, String roleCode, String roleType) {
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.Customer.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for a keyset-paginated user listing; null fields are not applied. {@code createdFrom} is inclusive,
+ * {@code createdTo} exclusive. When {@code afterCreatedAt}/{@code afterId} are set, only users strictly after
+ * that position in {@code (created_at, id)} order are returned.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchCriteria {
+    private String roleCode;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private String usernamePrefix;
+    private LocalDateTime afterCreatedAt;
+    private String afterId;
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.Customer.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the {@code users} columns a listing returns. Built by a constructor expression,
+ * so rows never become managed entities and the password hash is never read.
+ */
+public record UserView(
+    String id,
+    String username,
+    String email,
+    LocalDate birthday,
+    String address,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt) {
+}
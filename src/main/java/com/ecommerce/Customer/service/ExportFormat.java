@@ -0,0 +1,24 @@
+package com.ecommerce.Customer.service;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.Customer.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class IdempotencyKeyNotSupportedException extends RuntimeException {
+    public IdempotencyKeyNotSupportedException(String endpoint) {
+        super("Idempotency-Key is not supported on " + endpoint);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.Customer.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency-Key " + key + " was already used with a different request body");
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.Customer.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyReplayUnavailableException extends RuntimeException {
+    public IdempotencyReplayUnavailableException(String key) {
+        super("Idempotency-Key " + key + " was already used; its result is too large to replay");
+    }
+}
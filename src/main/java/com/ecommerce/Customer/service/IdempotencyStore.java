@@ -0,0 +1,163 @@
+package com.ecommerce.Customer.service;
+
+import com.ecommerce.Customer.config.IdempotencyProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates batch submissions by {@code Idempotency-Key}. The first request with a key runs the call;
+ * repeats while it is running attach to the same result stream, and repeats after it completed replay the
+ * stored result for {@code retention}. Failed runs are forgotten so the client can retry them. Reusing a key
+ * with a different request body (compared by SHA-256 of its JSON form) is rejected.
+ *
+ * <p>Stored results are weighed by their serialized size and the store is bounded by {@code maxReplaySize}.
+ * A result above {@code maxEntrySize} or {@code maxEntryItems} is not kept: the key stays claimed, and repeats
+ * are refused with 409 rather than replayed partially or run a second time.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> cache;
+
+    public IdempotencyStore(IdempotencyProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaxReplaySize().toBytes())
+            .weigher((String key, Entry entry) -> (int) Math.min(Integer.MAX_VALUE, Math.max(1, entry.bytes.get())))
+            .expireAfter(new EntryExpiry(properties))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency");
+    }
+
+    public <T> Flux<T> flux(String scope, String key, Object request, Supplier<Flux<T>> call) {
+        if (key == null || !properties.isEnabled()) {
+            return call.get();
+        }
+        String cacheKey = scope + "|" + key;
+        byte[] fingerprint = fingerprint(request);
+        boolean[] created = {false};
+        Entry entry = cache.asMap().computeIfAbsent(cacheKey, k -> {
+            created[0] = true;
+            return new Entry(k, fingerprint, call);
+        });
+        if (!created[0]) {
+            if (!MessageDigest.isEqual(entry.fingerprint, fingerprint)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            if (entry.overflowed) {
+                throw new IdempotencyReplayUnavailableException(key);
+            }
+            log.info("Idempotency-Key {} for {} matched an earlier request, attaching to its result", key, scope);
+        }
+        @SuppressWarnings("unchecked")
+        Flux<T> results = (Flux<T>) entry.results;
+        return results;
+    }
+
+    public <T> Mono<T> mono(String scope, String key, Object request, Supplier<Mono<T>> call) {
+        return flux(scope, key, request, () -> call.get().flux()).singleOrEmpty();
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request for idempotency", e);
+        }
+    }
+
+    private final class Entry {
+        private final byte[] fingerprint;
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicInteger items = new AtomicInteger();
+        private volatile boolean overflowed;
+        private final Flux<Object> results;
+
+        private Entry(String cacheKey, byte[] fingerprint, Supplier<? extends Flux<?>> call) {
+            this.fingerprint = fingerprint;
+            // replay() keeps the run going when the original caller disconnects and replays it to later callers;
+            // its history is capped, and an entry that outgrows it is marked overflowed and never attached to
+            this.results = Flux.defer(() -> call.get().cast(Object.class))
+                .doOnNext(this::weigh)
+                .doOnComplete(() -> cache.asMap().replace(cacheKey, this, overflowed ? new Entry(fingerprint) : this))
+                .doOnError(e -> cache.asMap().remove(cacheKey, this))
+                .replay(properties.getMaxEntryItems())
+                .autoConnect();
+        }
+
+        // Tombstone for a completed run whose result was too large to keep
+        private Entry(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+            this.overflowed = true;
+            this.results = Flux.empty();
+        }
+
+        private void weigh(Object element) {
+            if (overflowed) {
+                return;
+            }
+            try {
+                long total = bytes.addAndGet(objectMapper.writeValueAsBytes(element).length);
+                if (items.incrementAndGet() > properties.getMaxEntryItems() || total > properties.getMaxEntrySize().toBytes()) {
+                    overflow();
+                }
+            } catch (JsonProcessingException e) {
+                overflow();
+            }
+        }
+
+        private void overflow() {
+            overflowed = true;
+            bytes.set(0);
+        }
+    }
+
+    /**
+     * In-flight entries live up to {@code inFlightTimeout}; completing (an update) restarts the clock at {@code retention}.
+     */
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+        private final long inFlightNanos;
+        private final long retentionNanos;
+
+        private EntryExpiry(IdempotencyProperties properties) {
+            this.inFlightNanos = properties.getInFlightTimeout().toNanos();
+            this.retentionNanos = properties.getRetention().toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return inFlightNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return retentionNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.Customer.service;
+
+import com.ecommerce.Customer.config.PermissionCacheProperties;
+import com.ecommerce.Customer.dto.PermissionCacheStatsDto;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches permission lookups for {@code X-Current-User} callers. Granted results live for {@code ttl},
+ * denied results for the shorter {@code negative-ttl}; failed lookups are never cached.
+ * Concurrent lookups for the same user share a single in-flight downstream call.
+ */
+@Slf4j
+@Component
+public class PermissionCache {
+
+    private final PermissionCacheProperties properties;
+    private final AsyncCache<String, Boolean> cache;
+
+    public PermissionCache(PermissionCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfter(new PermissionExpiry(properties))
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "permission");
+    }
+
+    public Mono<Boolean> get(String user, Function<String, Mono<Boolean>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(user);
+        }
+        // suppressCancel: one cancelled caller must not cancel the lookup other callers are waiting on
+        return Mono.fromFuture(() -> cache.get(user, (key, executor) -> loader.apply(key).toFuture()), true);
+    }
+
+    public void invalidate(String user) {
+        log.info("Invalidating cached permission for user: {}", user);
+        cache.synchronous().invalidate(user);
+    }
+
+    public PermissionCacheStatsDto stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new PermissionCacheStatsDto(
+            cache.synchronous().estimatedSize(),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.loadSuccessCount(),
+            stats.loadFailureCount(),
+            stats.averageLoadPenalty() / 1_000_000.0,
+            stats.evictionCount());
+    }
+
+    private static final class PermissionExpiry implements Expiry<String, Boolean> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private PermissionExpiry(PermissionCacheProperties properties) {
+            this.ttlNanos = properties.getTtl().toNanos();
+            this.negativeTtlNanos = properties.getNegativeTtl().toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Boolean granted, long currentTime) {
+            return Boolean.TRUE.equals(granted) ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Boolean granted, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, granted, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Boolean granted, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
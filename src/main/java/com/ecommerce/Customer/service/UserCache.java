@@ -0,0 +1,168 @@
+package com.ecommerce.Customer.service;
+
+import com.ecommerce.Customer.config.UserCacheProperties;
+import com.ecommerce.Customer.dto.RoleDTO;
+import com.ecommerce.Customer.dto.UserDTO;
+import com.ecommerce.Customer.mapper.UserMapper;
+import com.ecommerce.Customer.repository.UserRepository;
+import com.ecommerce.Customer.repository.UserView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of user profiles by id, with username and email resolved to ids through secondary indexes.
+ * Entries expire {@code ttl} after they are loaded and are dropped by {@link UserCacheInvalidator} whenever the
+ * user is written through JPA. Absent users are not cached. Cached DTOs are shared, so callers must not modify them.
+ */
+@Slf4j
+@Component
+public class UserCache {
+
+    private final UserCacheProperties properties;
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final Cache<String, UserDTO> byId;
+    private final Cache<String, String> idByUsername;
+    private final Cache<String, String> idByEmail;
+
+    public UserCache(UserCacheProperties properties, UserRepository userRepository, UserMapper userMapper,
+                     MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.byId = build(properties);
+        this.idByUsername = build(properties);
+        this.idByEmail = build(properties);
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "user");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByUsername, "user-username");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByEmail, "user-email");
+    }
+
+    private static <V> Cache<String, V> build(UserCacheProperties properties) {
+        return Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .build();
+    }
+
+    public Optional<UserDTO> byId(String id) {
+        if (!properties.isEnabled()) {
+            return Optional.ofNullable(loadById(id));
+        }
+        return Optional.ofNullable(byId.get(id, this::loadById));
+    }
+
+    public Optional<UserDTO> byUsername(String username) {
+        return byKey(username, idByUsername, UserDTO::getUsername, () -> userRepository.findViewByUsername(username));
+    }
+
+    public Optional<UserDTO> byEmail(String email) {
+        return byKey(email, idByEmail, UserDTO::getEmail, () -> userRepository.findViewByEmail(email));
+    }
+
+    private Optional<UserDTO> byKey(String key, Cache<String, String> index, Function<UserDTO, String> keyOf,
+                                    Supplier<Optional<UserView>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get().map(this::toDTO);
+        }
+        String id = index.getIfPresent(key);
+        if (id != null) {
+            UserDTO user = byId.get(id, this::loadById);
+            if (user != null && key.equals(keyOf.apply(user))) {
+                return Optional.of(user);
+            }
+            // the user was renamed or removed since this mapping was cached
+            index.invalidate(key);
+        }
+        return loader.get().map(view -> {
+            UserDTO user = byId.get(view.id(), ignored -> toDTO(view));
+            index.put(key, view.id());
+            return user;
+        });
+    }
+
+    /**
+     * Drops the user and every index entry pointing at it, both under the cached and the given username and email.
+     */
+    public void invalidate(String id, String username, String email) {
+        UserDTO cached = id == null ? null : byId.asMap().remove(id);
+        if (cached != null) {
+            idByUsername.invalidate(cached.getUsername());
+            idByEmail.invalidate(cached.getEmail());
+        }
+        if (username != null) {
+            idByUsername.invalidate(username);
+        }
+        if (email != null) {
+            idByEmail.invalidate(email);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        UserCacheProperties.WarmUp warmUp = properties.getWarmUp();
+        if (!properties.isEnabled() || !warmUp.isEnabled()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        int loaded = 0;
+        try {
+            List<UserView> views = userRepository.findRecentViews(PageRequest.of(0, warmUp.getSize()));
+            for (int from = 0; from < views.size(); from += warmUp.getBatchSize()) {
+                List<UserView> batch = views.subList(from, Math.min(from + warmUp.getBatchSize(), views.size()));
+                Map<String, Set<RoleDTO>> rolesByUserId = userMapper.toRoleDTOsByUserId(
+                    userRepository.findRoleViewsByUserIdIn(batch.stream().map(UserView::id).toList()));
+                for (UserView view : batch) {
+                    UserDTO user = userMapper.toDTO(view, rolesByUserId.getOrDefault(view.id(), new HashSet<>()));
+                    byId.put(user.getId(), user);
+                    index(user);
+                    loaded++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Thread [{}] - User cache warm-up stopped after {} users", Thread.currentThread().getName(), loaded, e);
+            return;
+        }
+        log.info("Thread [{}] - Warmed user cache with {} users in {} ms", Thread.currentThread().getName(), loaded,
+            (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private UserDTO loadById(String id) {
+        UserDTO user = userRepository.findViewsByIdIn(List.of(id)).stream()
+            .findFirst()
+            .map(this::toDTO)
+            .orElse(null);
+        if (user != null && properties.isEnabled()) {
+            index(user);
+        }
+        return user;
+    }
+
+    private UserDTO toDTO(UserView view) {
+        Map<String, Set<RoleDTO>> rolesByUserId = userMapper.toRoleDTOsByUserId(
+            userRepository.findRoleViewsByUserIdIn(List.of(view.id())));
+        return userMapper.toDTO(view, rolesByUserId.getOrDefault(view.id(), new HashSet<>()));
+    }
+
+    private void index(UserDTO user) {
+        idByUsername.put(user.getUsername(), user.getId());
+        idByEmail.put(user.getEmail(), user.getId());
+    }
+}
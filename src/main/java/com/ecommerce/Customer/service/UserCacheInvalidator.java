@@ -0,0 +1,42 @@
+package com.ecommerce.Customer.service;
+
+import com.ecommerce.Customer.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener on {@link User} that evicts the written user from {@link UserCache}. Hibernate creates it through
+ * Spring's bean container, so the cache is injected; contexts without a cache are left alone.
+ * The user is evicted right after the write and again once the transaction completes, so a concurrent
+ * read cannot re-cache the pre-commit row for a whole TTL.
+ */
+@RequiredArgsConstructor
+public class UserCacheInvalidator {
+
+    private final ObjectProvider<UserCache> userCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onWrite(User user) {
+        UserCache cache = userCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        cache.invalidate(user.getId(), user.getUsername(), user.getEmail());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(user.getId(), user.getUsername(), user.getEmail());
+                }
+            });
+        }
+    }
+}
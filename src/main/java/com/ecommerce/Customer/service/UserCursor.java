@@ -0,0 +1,41 @@
+package com.ecommerce.Customer.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last user on a listing page, handed to clients as an opaque URL-safe token.
+ */
+@Data
+@AllArgsConstructor
+public class UserCursor {
+    private LocalDateTime createdAt;
+    private String id;
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new InvalidCursorException(cursor);
+            }
+            String id = raw.substring(separator + 1);
+            // The id is bound as BINARY(16), so it has to parse as a UUID
+            UUID.fromString(id);
+            return new UserCursor(LocalDateTime.parse(raw.substring(0, separator)), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
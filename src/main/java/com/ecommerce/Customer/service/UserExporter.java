@@ -0,0 +1,208 @@
+package com.ecommerce.Customer.service;
+
+import com.ecommerce.Customer.config.UserListingProperties;
+import com.ecommerce.Customer.dto.UserExportDto;
+import com.ecommerce.Customer.entity.UuidBinaryJavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams every user to an output stream as NDJSON or CSV. Users are read through a JDBC cursor with a bounded
+ * fetch size. Their roles come from one side query per {@code roleBatchSize} users instead of a fetch join, and
+ * each batch is written and flushed before the next is read. Passwords are never exported.
+ * <p>
+ * Exports use a dedicated pool of {@code maxConcurrentExports} connections, so a long download never holds a
+ * connection of the main pool. Only this pool sets {@code useCursorFetch=true} on MySQL, which makes the cursor
+ * server-side but also turns on server-side prepared statements. Each export runs in one read-only transaction,
+ * so the role side queries share the cursor's connection; exports beyond the cap are rejected.
+ */
+@Slf4j
+@Component
+public class UserExporter implements DisposableBean {
+
+    private static final String USERS_SQL =
+        "SELECT id, username, email, birthday, address, created_at, updated_at FROM users ORDER BY id";
+    private static final String ROLES_SQL =
+        "SELECT ur.user_id, r.role_code FROM user_role ur JOIN roles r ON r.id = ur.role_id WHERE ur.user_id IN (:ids)";
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore permits;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final UserListingProperties.Export config;
+
+    public UserExporter(DataSourceProperties dataSourceProperties, ObjectMapper objectMapper, UserListingProperties properties) {
+        this.config = properties.getExport();
+        this.dataSource = exportDataSource(dataSourceProperties, config.getMaxConcurrentExports());
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.transactionTemplate.setReadOnly(true);
+        this.permits = new Semaphore(config.getMaxConcurrentExports());
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+
+    private static HikariDataSource exportDataSource(DataSourceProperties dataSourceProperties, int maxConcurrentExports) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("user-export-pool");
+        dataSource.setMaximumPoolSize(maxConcurrentExports);
+        dataSource.setMinimumIdle(0);
+        if (dataSource.getJdbcUrl() != null && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            dataSource.addDataSourceProperty("useCursorFetch", "true");
+        }
+        return dataSource;
+    }
+
+    /**
+     * @return the number of exported users
+     * @throws RejectedExecutionException if {@code maxConcurrentExports} exports are already running;
+     *                                    nothing has been written to {@code out} then
+     */
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("Too many concurrent user exports");
+        }
+        try {
+            return exportUsers(format, out);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private long exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long[] exported = {0};
+        List<UserExportDto> batch = new ArrayList<>(config.getRoleBatchSize());
+
+        try (SequenceWriter writer = writer(format, out)) {
+            try {
+                // One read-only transaction: the cursor and every role side query use the same connection
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(USERS_SQL,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        statement.setFetchSize(config.getFetchSize());
+                        return statement;
+                    }, resultSet -> {
+                        batch.add(mapUser(resultSet));
+                        if (batch.size() >= config.getRoleBatchSize()) {
+                            exported[0] += writeBatch(batch, writer);
+                        }
+                    });
+                    exported[0] += writeBatch(batch, writer);
+                });
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; the cursor is already closed by JdbcTemplate
+                throw e.getCause();
+            }
+            if (format == ExportFormat.NDJSON && exported[0] > 0) {
+                // The root value separator only goes between records; NDJSON ends every line
+                out.write('\n');
+            }
+        }
+
+        log.info("Thread [{}] - Exported {} users as {} in {} ms", Thread.currentThread().getName(),
+            exported[0], format, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return exported[0];
+    }
+
+    @Override
+    public void destroy() {
+        dataSource.close();
+    }
+
+    private SequenceWriter writer(ExportFormat format, OutputStream out) throws IOException {
+        if (format == ExportFormat.CSV) {
+            CsvSchema schema = csvMapper.schemaFor(UserExportDto.class)
+                .withHeader()
+                .withArrayElementSeparator(";");
+            return csvMapper.writer(schema).writeValues(out);
+        }
+        return objectMapper.writer()
+            .without(SerializationFeature.INDENT_OUTPUT)
+            .withRootValueSeparator("\n")
+            .writeValues(out);
+    }
+
+    private int writeBatch(List<UserExportDto> batch, SequenceWriter writer) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<String>> roles = loadRoles(batch);
+        try {
+            for (UserExportDto user : batch) {
+                user.setRoles(roles.getOrDefault(user.getId(), List.of()));
+                writer.write(user);
+            }
+            // Pushes the batch through to the client; with a sync-flushing gzip stream that includes compression
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
+    private Map<String, List<String>> loadRoles(List<UserExportDto> batch) {
+        List<byte[]> ids = batch.stream().map(user -> UuidBinaryJavaType.toBytes(user.getId())).toList();
+        Map<String, List<String>> roles = new HashMap<>();
+        namedJdbcTemplate.query(ROLES_SQL, new MapSqlParameterSource("ids", ids), resultSet -> {
+            roles.computeIfAbsent(UuidBinaryJavaType.fromBytes(resultSet.getBytes("user_id")), id -> new ArrayList<>())
+                .add(resultSet.getString("role_code"));
+        });
+        return roles;
+    }
+
+    private static UserExportDto mapUser(ResultSet resultSet) throws SQLException {
+        return new UserExportDto(
+            UuidBinaryJavaType.fromBytes(resultSet.getBytes("id")),
+            resultSet.getString("username"),
+            resultSet.getString("email"),
+            resultSet.getObject("birthday", LocalDate.class),
+            resultSet.getString("address"),
+            resultSet.getObject("created_at", LocalDateTime.class),
+            resultSet.getObject("updated_at", LocalDateTime.class),
+            null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.Customer.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class UserNotFoundException extends RuntimeException {
+    public UserNotFoundException(String key) {
+        super("User not found: " + key);
+    }
+}
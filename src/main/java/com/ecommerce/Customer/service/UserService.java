@@ -3,22 +3,30 @@ package com.ecommerce.Customer.service;
 import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
 import com.ecommerce.Customer.dto.UserCallExternalResponseDTO;
 import com.ecommerce.Customer.dto.UserDTO;
+import com.ecommerce.Customer.dto.UserPageDto;
 import com.ecommerce.Customer.dto.UserCallFullResponse;
 import com.ecommerce.Customer.dto.FullUserResponseDTO;
 import com.ecommerce.Customer.dto.UserResponseFullBatchSuccessErrorDto;
+import com.ecommerce.Customer.journal.JournaledBatch;
+import com.ecommerce.Customer.repository.UserSearchCriteria;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
 
 public interface UserService {
-    List<UserDTO> getAllUsers();
+    UserPageDto listUsers(UserSearchCriteria criteria, String cursor, Integer limit);
+    UserDTO getUser(String id);
+    UserDTO getUserByUsername(String username);
+    UserDTO getUserByEmail(String email);
     List<UserCallExternalResponseDTO> createUser(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTO);
     Flux<UserCallExternalResponseDTO> createUserReactive(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTO);
+    Flux<UserCallExternalResponseDTO> createUserReactiveStream(String currentUser, Flux<UserCallExternalRequestDTO> userCallExternalRequestDTO);
     Mono<List<UserCallExternalResponseDTO>> createUserReactiveAsList(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTO);
     List<UserCallExternalResponseDTO> createUserAsync(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTOS);
     // Flux<FullUserResponseDTO> createUserReactiveNew(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTOS);
     Flux<FullUserResponseDTO> createUserReactiveTest(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTOS);
     
     Flux<UserResponseFullBatchSuccessErrorDto> createUserReactiveTestSuccessError(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTOS);
+    Flux<UserResponseFullBatchSuccessErrorDto> resumeJournaledBatch(JournaledBatch batch);
 } 
\ No newline at end of file
@@ -1,26 +1,44 @@
 package com.ecommerce.Customer.service.impl;
 
+import com.ecommerce.Customer.batch.AdaptiveChunkController;
+import com.ecommerce.Customer.batch.BatchLog;
+import com.ecommerce.Customer.batch.ChunkPlan;
+import com.ecommerce.Customer.batch.MicroBatcher;
+import com.ecommerce.Customer.client.DownstreamHedger;
+import com.ecommerce.Customer.client.DownstreamMetrics;
+import com.ecommerce.Customer.client.DownstreamOutcome;
+import com.ecommerce.Customer.client.DownstreamResilience;
+import com.ecommerce.Customer.client.DownstreamRetries;
+import com.ecommerce.Customer.config.DownstreamClientRegistry;
+import com.ecommerce.Customer.config.UserListingProperties;
 import com.ecommerce.Customer.dto.FullUserResponseDTO;
+import com.ecommerce.Customer.dto.RoleDTO;
 import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
 import com.ecommerce.Customer.dto.UserCallExternalResponseDTO;
 import com.ecommerce.Customer.dto.UserCallFullResponse;
 import com.ecommerce.Customer.dto.UserDTO;
+import com.ecommerce.Customer.dto.UserPageDto;
 import com.ecommerce.Customer.dto.UserResponseBatchSuccessErrorDto;
 import com.ecommerce.Customer.dto.UserResponseFullBatchSuccessErrorDto;
+import com.ecommerce.Customer.journal.BatchJournal;
+import com.ecommerce.Customer.journal.JournaledBatch;
 import com.ecommerce.Customer.mapper.UserMapper;
+import com.ecommerce.Customer.ratelimit.FairChunkDispatcher;
 import com.ecommerce.Customer.repository.UserRepository;
+import com.ecommerce.Customer.repository.UserSearchCriteria;
+import com.ecommerce.Customer.repository.UserView;
+import com.ecommerce.Customer.service.PermissionCache;
+import com.ecommerce.Customer.service.UserCache;
+import com.ecommerce.Customer.service.UserCursor;
+import com.ecommerce.Customer.service.UserNotFoundException;
 import com.ecommerce.Customer.service.UserService;
 
-import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
 import io.netty.handler.timeout.ReadTimeoutException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,23 +47,28 @@ import org.springframework.web.reactive.function.client.WebClientRequestExceptio
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
-import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.PrematureCloseException;
-import reactor.netty.resources.ConnectionProvider;
-import reactor.util.retry.Retry;
 
 import java.net.ConnectException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -55,19 +78,89 @@ public class UserServiceImpl implements UserService {
     
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final WebClient.Builder webClientBuilder;
-    private final ExecutorService executorService = Executors.newFixedThreadPool(5);
-    private final Scheduler parallelScheduler = Schedulers.newParallel("user-save-scheduler", 5);
-    private final String baseUrl = "http://localhost:8082";
+    private final UserListingProperties userListingProperties;
+    private final UserCache userCache;
+    private final DownstreamClientRegistry downstreamClientRegistry;
+    private final AdaptiveChunkController chunkController;
+    private final MicroBatcher microBatcher;
+    private final FairChunkDispatcher fairChunkDispatcher;
+    private final PermissionCache permissionCache;
+    private final DownstreamResilience downstreamResilience;
+    private final DownstreamRetries downstreamRetries;
+    private final DownstreamHedger downstreamHedger;
+    private final DownstreamMetrics downstreamMetrics;
+    private final BatchJournal batchJournal;
+    private final BatchLog batchLog;
+    private final ExecutorService executorService;
+    private final Scheduler parallelScheduler;
+    private final String userServiceClient = "user-service";
+    private final String uri_batch = "/api/users/batch";
     private final String uri_batch_success_error = "/api/users/batch_success_error";
     private final String uri_batch_async = "/api/users/batch_async";
+    private final String uri_permission = "/api/users/permission";
+    // circuit breaker / bulkhead instance names, one per downstream route
+    private final String route_batch = "user-service-batch";
+    private final String route_batch_success_error = "user-service-batch-success-error";
+    private final String route_batch_async = "user-service-batch-async";
+    private final String route_permission = "user-service-permission";
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAllUsersWithRoles().stream()
-                .map(userMapper::toDTO)
-                .collect(Collectors.toList());
+    public UserPageDto listUsers(UserSearchCriteria criteria, String cursor, Integer limit) {
+        int pageSize = limit == null
+            ? userListingProperties.getDefaultLimit()
+            : Math.max(1, Math.min(limit, userListingProperties.getMaxLimit()));
+        if (cursor != null) {
+            UserCursor after = UserCursor.decode(cursor);
+            criteria.setAfterCreatedAt(after.getCreatedAt());
+            criteria.setAfterId(after.getId());
+        }
+
+        // Page on ids first: fetch-joining roles under a LIMIT would make Hibernate paginate in memory.
+        // One extra id tells whether there is a next page without a count query.
+        List<String> ids = userRepository.findPageIds(criteria, pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        List<String> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new UserPageDto(List.of(), null);
+        }
+
+        // Projections rather than entities: nothing enters the persistence context and the password is never read
+        Map<String, UserView> usersById = userRepository.findViewsByIdIn(pageIds).stream()
+            .collect(Collectors.toMap(UserView::id, Function.identity()));
+        Map<String, Set<RoleDTO>> rolesByUserId = userMapper.toRoleDTOsByUserId(
+            userRepository.findRoleViewsByUserIdIn(pageIds));
+        List<UserView> page = pageIds.stream()
+            .map(usersById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        UserView last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasMore && last != null ? new UserCursor(last.createdAt(), last.id()).encode() : null;
+        List<UserDTO> users = page.stream()
+            .map(view -> userMapper.toDTO(view, rolesByUserId.getOrDefault(view.id(), new HashSet<>())))
+            .collect(Collectors.toList());
+        return new UserPageDto(users, nextCursor);
+    }
+
+    @Override
+    public UserDTO getUser(String id) {
+        try {
+            UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            // Not a UUID, so it cannot be the id of any user
+            throw new UserNotFoundException(id);
+        }
+        return userCache.byId(id).orElseThrow(() -> new UserNotFoundException(id));
+    }
+
+    @Override
+    public UserDTO getUserByUsername(String username) {
+        return userCache.byUsername(username).orElseThrow(() -> new UserNotFoundException(username));
+    }
+
+    @Override
+    public UserDTO getUserByEmail(String email) {
+        return userCache.byEmail(email).orElseThrow(() -> new UserNotFoundException(email));
     }
 
     @Override
@@ -76,56 +169,48 @@ public class UserServiceImpl implements UserService {
         try {
             log.info("Thread [{}] - Starting batch user creation for {} users", 
                 Thread.currentThread().getName(), userCallExternalRequestDTOS.size());
-            String url = "http://localhost:8082/api/users/batch";
-            WebClient webClient = webClientBuilder
-                    .build()
-                    .mutate()
-                    .build();
-
-            // Split the list into chunks of equal size
-            int chunkSize = (int) Math.ceil((double) userCallExternalRequestDTOS.size() / 5);
-            List<List<UserCallExternalRequestDTO>> chunks = new ArrayList<>();
-            
-            for (int i = 0; i < userCallExternalRequestDTOS.size(); i += chunkSize) {
-                chunks.add(userCallExternalRequestDTOS.subList(i, 
-                    Math.min(i + chunkSize, userCallExternalRequestDTOS.size())));
+            WebClient webClient = downstreamClientRegistry.get(userServiceClient);
+
+            // Small requests from concurrent callers share one downstream call
+            if (microBatcher.accepts(userCallExternalRequestDTOS.size())) {
+                return microBatcher.submit(currentUser, userCallExternalRequestDTOS,
+                        merged -> postBatchChunk(webClient, currentUser, merged, "createUser"))
+                    .collectList()
+                    .block();
             }
 
-            log.info("Thread [{}] - Split users into {} chunks for parallel processing", 
-                Thread.currentThread().getName(), chunks.size());
+            // Split the list into chunks sized by the adaptive controller
+            long start = System.nanoTime();
+            ChunkPlan plan = chunkController.plan(uri_batch, userCallExternalRequestDTOS.size());
+            List<List<UserCallExternalRequestDTO>> chunks = chunkController.split(userCallExternalRequestDTOS, plan);
+
+            log.info("Thread [{}] - Split users into {} chunks of up to {} for parallel processing", 
+                Thread.currentThread().getName(), chunks.size(), plan.getChunkSize());
 
-            // Process each chunk in parallel
+            // Process chunks in parallel, at most plan.getConcurrency() at a time. Permits are taken on this
+            // thread, which waits for the results anyway, so no pool thread is parked waiting for one.
+            Semaphore inFlight = new Semaphore(plan.getConcurrency());
             List<CompletableFuture<List<UserCallExternalResponseDTO>>> futures = chunks.stream()
-                .map(chunk -> CompletableFuture.supplyAsync(() -> {
-                    try {
-                        log.info("Thread [{}] - Starting to save chunk of {} users", 
-                            Thread.currentThread().getName(), chunk.size());
-                        return webClient.post()
-                            .uri(url)
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .header("X-Current-User", currentUser)
-                            .body(BodyInserters.fromValue(chunk))
-                            .retrieve()
-                            .bodyToFlux(UserCallExternalResponseDTO.class)
-                            .timeout(Duration.ofSeconds(30))
-                            .retryWhen(Retry.backoff(3, Duration.ofSeconds(2))
-                                    .filter(throwable -> throwable instanceof WebClientResponseException 
-                                            && ((WebClientResponseException) throwable).getStatusCode().is5xxServerError()))
-                            .collectList()
-                            .doOnNext(responses -> {
-                                log.info("Thread [{}] - Successfully saved {} users in chunk", 
-                                    Thread.currentThread().getName(), responses.size());
-                                responses.forEach(response -> 
-                                    log.info("Thread [{}] - Saved user: {}", 
-                                        Thread.currentThread().getName(), response.getUsername()));
-                            })
-                            .block();
-                    } catch (Exception e) {
-                        log.error("Thread [{}] - Error processing chunk: {}", 
-                            Thread.currentThread().getName(), e.getMessage());
-                        throw new RuntimeException("Failed to process chunk: " + e.getMessage(), e);
-                    }
-                }, executorService))
+                .map(chunk -> {
+                    inFlight.acquireUninterruptibly();
+                    return CompletableFuture.supplyAsync(() -> {
+                        try {
+                            log.debug("Thread [{}] - Starting to save chunk of {} users", 
+                                Thread.currentThread().getName(), chunk.size());
+                            return downstreamMetrics.chunk(uri_batch, "createUser", chunk.size(),
+                                    fairChunkDispatcher.dispatch(currentUser, chunk.size(),
+                                        chunkController.measure(uri_batch, callBatch(webClient, currentUser, chunk))))
+                                .collectList()
+                                .doOnNext(responses -> responses.forEach(response ->
+                                    batchLog.record("createUser", response.getUsername())))
+                                .block();
+                        } catch (Exception e) {
+                            log.error("Thread [{}] - Error processing chunk: {}", 
+                                Thread.currentThread().getName(), e.getMessage());
+                            throw new RuntimeException("Failed to process chunk: " + e.getMessage(), e);
+                        }
+                    }, executorService).whenComplete((responses, error) -> inFlight.release());
+                })
                 .collect(Collectors.toList());
 
             // Wait for all futures to complete and combine results
@@ -134,8 +219,7 @@ public class UserServiceImpl implements UserService {
                 .flatMap(List::stream)
                 .collect(Collectors.toList());
 
-            log.info("Thread [{}] - Completed saving all {} users", 
-                Thread.currentThread().getName(), allResponses.size());
+            batchLog.batch("createUser", userCallExternalRequestDTOS.size(), chunks.size(), allResponses.size(), start, "SUCCESS");
             return allResponses;
         } catch (Exception e) {
             log.error("Thread [{}] - Error creating users: {}", 
@@ -147,16 +231,14 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public Flux<FullUserResponseDTO> createUserReactiveTest(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTOS) {
-        String baseUrl = "http://localhost:8082";
-        String uri = "/api/users/batch_async";
-
-        // Create the web client
-        WebClient webClient = createWebClient(baseUrl);
+        // Shared, pooled client for the user service
+        WebClient webClient = downstreamClientRegistry.get(userServiceClient);
 
         // Create the chunks for the request
-        List<List<UserCallExternalRequestDTO>> chunks = createChunks(userCallExternalRequestDTOS, 5);
+        ChunkPlan plan = chunkController.plan(uri_batch_async, userCallExternalRequestDTOS.size());
+        List<List<UserCallExternalRequestDTO>> chunks = chunkController.split(userCallExternalRequestDTOS, plan);
 
-        return checkPermission(currentUser)
+        return batchLog.batch("createUserReactiveTest", userCallExternalRequestDTOS.size(), chunks.size(), checkPermission(currentUser)
             .flatMapMany(permission -> {
                 if (!permission) {
                     log.error("User does not have permission to create users");
@@ -167,8 +249,13 @@ public class UserServiceImpl implements UserService {
                 }
 
                 return Flux.fromIterable(chunks)
-                    .flatMap(chunk -> Mono.<FullUserResponseDTO>defer(() -> sendChunkToServer(chunk, webClient, currentUser))
-                    .subscribeOn(parallelScheduler));
+                    .flatMap(chunk -> downstreamMetrics.chunk(uri_batch_async, "createUserReactiveTest", chunk.size(),
+                            fairChunkDispatcher.dispatch(currentUser, chunk.size(),
+                                chunkController.measure(uri_batch_async,
+                                    Mono.<FullUserResponseDTO>defer(() -> sendChunkToServer(chunk, webClient, currentUser)),
+                                    FullUserResponseDTO::getStatus)),
+                            FullUserResponseDTO::getStatus)
+                        .subscribeOn(parallelScheduler), plan.getConcurrency());
                     // .publishOn(Schedulers.parallel()));
             })
             .onErrorResume(WebClientResponseException.class, ex -> {
@@ -177,7 +264,15 @@ public class UserServiceImpl implements UserService {
                     HttpStatus.valueOf(ex.getStatusCode().value()),
                     new UserCallFullResponse(0, 1, 0.0f, new ArrayList<>())
                 ));
-            });
+            })
+            // Open circuit or full bulkhead, on the permission lookup as well as on the chunks
+            .onErrorResume(DownstreamResilience::isRejection, ex -> {
+                log.error("Downstream rejected call: {}", ex.getMessage());
+                return Flux.just(new FullUserResponseDTO(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    new UserCallFullResponse(0, 0, 0.0f, new ArrayList<>())
+                ));
+            }));
  
 
     }
@@ -186,13 +281,14 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public Flux<UserResponseFullBatchSuccessErrorDto> createUserReactiveTestSuccessError(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTOS) {
 
-        // Create the web client
-        WebClient webClient = createWebClient(baseUrl);
+        // Shared, pooled client for the user service
+        WebClient webClient = downstreamClientRegistry.get(userServiceClient);
 
         // Create the chunks for the request
-        List<List<UserCallExternalRequestDTO>> chunks = createChunks(userCallExternalRequestDTOS, 5);
+        ChunkPlan plan = chunkController.plan(uri_batch_success_error, userCallExternalRequestDTOS.size());
+        List<List<UserCallExternalRequestDTO>> chunks = chunkController.split(userCallExternalRequestDTOS, plan);
 
-        return checkPermission(currentUser)
+        return batchLog.batch("createUserReactiveTestSuccessError", userCallExternalRequestDTOS.size(), chunks.size(), checkPermission(currentUser)
             .flatMapMany(permission -> {
                 if (!permission) {
                     log.error("User does not have permission to create users");
@@ -202,10 +298,9 @@ public class UserServiceImpl implements UserService {
                     ));
                 }
 
-                return Flux.fromIterable(chunks)
-                    .flatMap(chunk -> Mono.<UserResponseFullBatchSuccessErrorDto>defer(() -> sendChunkToServerSuccessError(chunk, webClient, uri_batch_success_error, currentUser))
-                    .subscribeOn(parallelScheduler));
-                    // .publishOn(Schedulers.parallel()));
+                // Chunk boundaries are journaled before anything reaches the downstream, so a restart can resume them
+                return batchJournal.accept(currentUser, chunks)
+                    .flatMapMany(batch -> sendJournaledChunks(batch, webClient, plan.getConcurrency(), "createUserReactiveTestSuccessError"));
             })
             .onErrorResume(WebClientResponseException.class, ex -> {
                 log.error("WebClient error: {}", ex.getMessage());
@@ -213,74 +308,118 @@ public class UserServiceImpl implements UserService {
                     HttpStatus.valueOf(ex.getStatusCode().value()),
                     new UserResponseBatchSuccessErrorDto(0, 0, 0.0f, new ArrayList<>(), new ArrayList<>())
                 ));
-            });
+            })
+            // Open circuit or full bulkhead, on the permission lookup as well as on the chunks
+            .onErrorResume(DownstreamResilience::isRejection, ex -> {
+                log.error("Downstream rejected call: {}", ex.getMessage());
+                return Flux.just(new UserResponseFullBatchSuccessErrorDto(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    new UserResponseBatchSuccessErrorDto(0, 0, 0.0f, new ArrayList<>(), new ArrayList<>())
+                ));
+            }));
+    }
+
+    @Override
+    public Flux<UserResponseFullBatchSuccessErrorDto> resumeJournaledBatch(JournaledBatch batch) {
+        WebClient webClient = downstreamClientRegistry.get(userServiceClient);
+        int pendingUsers = batch.getPendingChunks().stream().mapToInt(chunk -> chunk.getItems().size()).sum();
+        ChunkPlan plan = chunkController.plan(uri_batch_success_error, pendingUsers);
+
+        log.info("Thread [{}] - Resuming batch {} with {} pending chunks",
+            Thread.currentThread().getName(), batch.getBatchId(), batch.getPendingChunks().size());
+        return batchLog.batch("resumeJournaledBatch", pendingUsers, batch.getPendingChunks().size(),
+            sendJournaledChunks(batch, webClient, plan.getConcurrency(), "resumeJournaledBatch"));
+    }
+
+    private Flux<UserResponseFullBatchSuccessErrorDto> sendJournaledChunks(JournaledBatch batch, WebClient webClient, int concurrency, String strategy) {
+        AtomicInteger undelivered = new AtomicInteger();
+        return Flux.fromIterable(batch.getPendingChunks())
+            .flatMap(chunk -> downstreamMetrics.chunk(uri_batch_success_error, strategy, chunk.getItems().size(),
+                    fairChunkDispatcher.dispatch(batch.getRequestedBy(), chunk.getItems().size(),
+                        chunkController.measure(uri_batch_success_error,
+                            Mono.<UserResponseFullBatchSuccessErrorDto>defer(() -> sendChunkToServerSuccessError(chunk.getItems(), webClient, uri_batch_success_error, batch.getRequestedBy())),
+                            UserResponseFullBatchSuccessErrorDto::getHttpStatus)),
+                    UserResponseFullBatchSuccessErrorDto::getHttpStatus)
+                .flatMap(response -> {
+                    if (isUndelivered(response.getHttpStatus())) {
+                        undelivered.incrementAndGet();
+                        return batchJournal.recordUndelivered(batch.getBatchId(), chunk.getChunkIndex(), response.getHttpStatus().value())
+                            .thenReturn(response);
+                    }
+                    return batchJournal.recordOutcome(batch.getBatchId(), chunk.getChunkIndex(), response.getHttpStatus().value())
+                        .thenReturn(response);
+                })
+                .subscribeOn(parallelScheduler), concurrency)
+            // A batch with undelivered chunks stays ACCEPTED and is claimed and resumed once its lease runs out
+            .concatWith(Mono.defer(() -> {
+                if (undelivered.get() > 0) {
+                    log.warn("Batch {} left {} undelivered chunks pending for resume", batch.getBatchId(), undelivered.get());
+                    return Mono.empty();
+                }
+                return batchJournal.complete(batch.getBatchId());
+            }).then(Mono.empty()))
+            // Completed, failed or cancelled by the client: an unfinished batch is claimed again after its lease
+            .doFinally(signal -> batchJournal.release(batch.getBatchId()));
+    }
+
+    // Synthetic statuses for chunks the downstream never answered: rejected by the circuit breaker or bulkhead,
+    // connect failures and timeouts (see sendChunkToServerSuccessError)
+    private static boolean isUndelivered(HttpStatus status) {
+        return status == HttpStatus.SERVICE_UNAVAILABLE || status == HttpStatus.REQUEST_TIMEOUT;
+    }
+
+    // Transport failures without a response: they arrive as WebClientRequestException with the ConnectException,
+    // timeout or reset as its cause, so classify on the cause chain rather than on the exception type
+    private static boolean isUndelivered(Throwable throwable) {
+        if (throwable instanceof AsyncRequestTimeoutException) {
+            return true;
+        }
+        return switch (DownstreamOutcome.of(throwable)) {
+            case TIMEOUT, CONNECT_FAILURE, CONNECTION_CLOSED, IO_ERROR -> true;
+            default -> false;
+        };
     }
 
     private Mono<Boolean> checkPermission(String currentUser) {
-        String baseUrl = "http://localhost:8082";
-        String uri = "/api/users/permission";
+        return downstreamMetrics.permission(permissionCache.get(currentUser, this::fetchPermission))
+            .onErrorResume(WebClientRequestException.class, ex -> {
+                log.error("Permission check error: {}", ex.getMessage());
+                return Mono.just(false);
+            });
+    }
 
-        WebClient webClient = createWebClient(baseUrl);
+    private Mono<Boolean> fetchPermission(String currentUser) {
+        WebClient webClient = downstreamClientRegistry.get(userServiceClient);
 
-        return webClient.get()
-            .uri(uri + "/" + currentUser)
+        // Permission lookups are idempotent, so they may be hedged
+        return downstreamHedger.hedge(route_permission, () -> downstreamResilience.protect(route_permission, webClient.get()
+            .uri(uri_permission + "/{user}", currentUser)
             .retrieve()
             .onStatus(status -> status.is5xxServerError(),
                 response -> response.bodyToMono(String.class)
                     .flatMap(body -> Mono.error(new RuntimeException("Server error: " + body))))
-            .bodyToMono(String.class)
+            .bodyToMono(String.class)))
             .map(permission -> {
-                log.info("Permission: {}", permission);
-                log.info("Permission contain ADMIN: {}", permission.contains("ADMIN"));
+                log.debug("Permission for {}: {}", currentUser, permission);
                 return permission.contains("ADMIN");
-            })
-            .onErrorResume(WebClientRequestException.class, ex -> {
-                log.error("Permission check error: {}", ex.getMessage());
-                return Mono.just(false);
-            })            
-            ;
-    }
-
-    private WebClient createWebClient(String baseUrl) {
-        // To configure a connection pool size
-        ConnectionProvider provider = ConnectionProvider.builder("custom-connection-pool")
-            .maxConnections(50)
-            .pendingAcquireTimeout(Duration.ofSeconds(10))
-            .pendingAcquireMaxCount(1000)
-            .build();
-        
-        // To configure a connection timeout
-        HttpClient httpClient = HttpClient.create(provider)
-            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 100000)
-            .responseTimeout(Duration.ofSeconds(120))
-            .doOnConnected(conn -> 
-                conn.addHandlerLast(new ReadTimeoutHandler(60))
-                    .addHandlerLast(new WriteTimeoutHandler(60)));
-        
-        // Create the web client        
-        WebClient webClient = WebClient.builder()
-            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
-            .clientConnector(new ReactorClientHttpConnector(httpClient))
-            .baseUrl(baseUrl)                               
-            .build();
-        return webClient;
+            });
     }
 
     private Mono<UserResponseFullBatchSuccessErrorDto> sendChunkToServerSuccessError(List<UserCallExternalRequestDTO> chunk, WebClient webClient, String uri, String currentUser) {
-        log.info("Thread [{}] - Starting to send chunk of {} users to server", 
+        log.debug("Thread [{}] - Starting to send chunk of {} users to server", 
             Thread.currentThread().getName(), chunk.size());
             
-        return webClient.post()
+        return downstreamRetries.retry(route_batch_success_error, downstreamResilience.protect(route_batch_success_error, webClient.post()
             .uri(uri)
             .contentType(MediaType.APPLICATION_JSON)
             .header("X-Current-User", currentUser)
             .body(BodyInserters.fromValue(chunk))
             .exchangeToMono(response -> {
-                log.info("Thread [{}] - Response status code: {}", Thread.currentThread().getName(), response.statusCode());
+                log.debug("Thread [{}] - Response status code: {}", Thread.currentThread().getName(), response.statusCode());
                 
                 return response.bodyToMono(UserResponseBatchSuccessErrorDto.class)
                     .map(body -> {
-                        log.info("Thread [{}] - Successfully processed response", Thread.currentThread().getName());
+                        log.debug("Thread [{}] - Successfully processed response", Thread.currentThread().getName());
                         return new UserResponseFullBatchSuccessErrorDto(
                             HttpStatus.valueOf(response.statusCode().value()),
                             body
@@ -294,27 +433,25 @@ public class UserServiceImpl implements UserService {
                         ));
                     });
             })
-            .timeout(Duration.ofSeconds(200))
-            .retryWhen(Retry.backoff(3, Duration.ofSeconds(2)))
+            .timeout(Duration.ofSeconds(200))),
+                3, Duration.ofSeconds(2), throwable -> !DownstreamResilience.isRejection(throwable))
+            // Spent retries wrap the last failure; the branches below need to see the failure itself
+            .onErrorMap(Exceptions::isRetryExhausted, Throwable::getCause)
             .doOnError(e -> { log.error("Error: {}", e.getMessage()); })            
-            .onErrorResume(ConnectException.class, ex -> {
-                log.error("Connection error: {}", ex.getMessage());
+            .onErrorResume(DownstreamResilience::isRejection, ex -> {
+                log.error("Downstream route {} rejected call: {}", route_batch_success_error, ex.getMessage());
                 return Mono.just(new UserResponseFullBatchSuccessErrorDto(
-                    HttpStatus.REQUEST_TIMEOUT,
+                    HttpStatus.SERVICE_UNAVAILABLE,
                     new UserResponseBatchSuccessErrorDto(0, 0, 0.0f, new ArrayList<>(), new ArrayList<>())
                 ));
             })
-            .onErrorResume(throwable -> {
-                if ((throwable instanceof TimeoutException) || 
-                    (throwable instanceof AsyncRequestTimeoutException) ||
-                    (throwable instanceof PrematureCloseException)) {
-                    log.error("Timeout or premature close error: {}", throwable.getMessage());
-                    return Mono.just(new UserResponseFullBatchSuccessErrorDto(
-                        HttpStatus.REQUEST_TIMEOUT,
-                        new UserResponseBatchSuccessErrorDto(0, 0, 0.0f, new ArrayList<>(), new ArrayList<>())
-                    ));
-                }
-                return Mono.error(throwable);
+            .onErrorResume(UserServiceImpl::isUndelivered, throwable -> {
+                log.error("Chunk not delivered ({}): {}",
+                    DownstreamOutcome.of(throwable), throwable.getMessage());
+                return Mono.just(new UserResponseFullBatchSuccessErrorDto(
+                    HttpStatus.REQUEST_TIMEOUT,
+                    new UserResponseBatchSuccessErrorDto(0, 0, 0.0f, new ArrayList<>(), new ArrayList<>())
+                ));
             })
             .onErrorResume(WebClientResponseException.class, ex -> {
                 log.error("WebClient error: {}", ex.getMessage());
@@ -331,26 +468,25 @@ public class UserServiceImpl implements UserService {
                 ));
             })
             .doFinally(signalType -> 
-                log.info("Thread [{}] - Request completed with signal: {}", 
+                log.debug("Thread [{}] - Request completed with signal: {}", 
                     Thread.currentThread().getName(), signalType));
     }
 
     private Mono<FullUserResponseDTO> sendChunkToServer(List<UserCallExternalRequestDTO> chunk, WebClient webClient, String currentUser) {
-        String uri = "/api/users/batch_async";
-        log.info("Thread [{}] - Starting to send chunk of {} users to server", 
+        log.debug("Thread [{}] - Starting to send chunk of {} users to server", 
             Thread.currentThread().getName(), chunk.size());
             
-        return webClient.post()
-            .uri(uri)
+        return downstreamRetries.retry(route_batch_async, downstreamResilience.protect(route_batch_async, webClient.post()
+            .uri(uri_batch_async)
             .contentType(MediaType.APPLICATION_JSON)
             .header("X-Current-User", currentUser)
             .body(BodyInserters.fromValue(chunk))
             .exchangeToMono(response -> {
-                log.info("Thread [{}] - Response status code: {}", Thread.currentThread().getName(), response.statusCode());
+                log.debug("Thread [{}] - Response status code: {}", Thread.currentThread().getName(), response.statusCode());
                 
                 return response.bodyToMono(UserCallFullResponse.class)
                     .map(body -> {
-                        log.info("Thread [{}] - Successfully processed response", Thread.currentThread().getName());
+                        log.debug("Thread [{}] - Successfully processed response", Thread.currentThread().getName());
                         return new FullUserResponseDTO(HttpStatus.valueOf(response.statusCode().value()), body);
                     })
                     .onErrorResume(e -> {
@@ -361,9 +497,8 @@ public class UserServiceImpl implements UserService {
                         ));
                     });
             })
-            .timeout(Duration.ofSeconds(10))
-            .retryWhen(Retry.backoff(3, Duration.ofSeconds(2))
-                .filter(throwable -> {
+            .timeout(Duration.ofSeconds(10))),
+                3, Duration.ofSeconds(2), throwable -> {
                     boolean shouldRetry = throwable instanceof TimeoutException || 
                         throwable instanceof AsyncRequestTimeoutException ||
                         throwable instanceof PrematureCloseException ||
@@ -376,9 +511,13 @@ public class UserServiceImpl implements UserService {
                     }
                     return shouldRetry;
                 })
-                .doBeforeRetry(retrySignal -> 
-                    log.info("Thread [{}] - Attempting retry {} of 3", 
-                        Thread.currentThread().getName(), retrySignal.totalRetries() + 1)))
+            .onErrorResume(DownstreamResilience::isRejection, ex -> {
+                log.error("Downstream route {} rejected call: {}", route_batch_async, ex.getMessage());
+                return Mono.just(new FullUserResponseDTO(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    new UserCallFullResponse(0, 0, 0.0f, new ArrayList<>())
+                ));
+            })
             .onErrorResume(ConnectException.class, ex -> {
                 log.error("Connection error: {}", ex.getMessage());
                 return Mono.just(new FullUserResponseDTO(
@@ -413,19 +552,10 @@ public class UserServiceImpl implements UserService {
                 ));
             })
             .doFinally(signalType -> 
-                log.info("Thread [{}] - Request completed with signal: {}", 
+                log.debug("Thread [{}] - Request completed with signal: {}", 
                     Thread.currentThread().getName(), signalType));
     }
 
-    private List<List<UserCallExternalRequestDTO>> createChunks(List<UserCallExternalRequestDTO> requestDTOs, int numberOfChunks) {
-        int chunkSize = (int) Math.ceil((double)requestDTOs.size() / numberOfChunks);
-        List<List<UserCallExternalRequestDTO>> chunks = new ArrayList<>();
-        for (int i = 0; i < requestDTOs.size(); i += chunkSize) {
-            chunks.add(requestDTOs.subList(i, Math.min(i + chunkSize, requestDTOs.size())));
-        }
-        return chunks;
-    }
-
     // @Override
     // @Transactional
     // public Flux<FullUserResponseDTO> createUserReactiveNew(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTOS) {
@@ -460,65 +590,97 @@ public class UserServiceImpl implements UserService {
     public Flux<UserCallExternalResponseDTO> createUserReactive(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTOS) {
         log.info("Thread [{}] - Starting reactive batch user creation for {} users", 
             Thread.currentThread().getName(), userCallExternalRequestDTOS.size());
-        String url = "http://localhost:8082/api/users/batch";
-        WebClient webClient = webClientBuilder
-                .build()
-                .mutate()
-                .build();
-
-        // Split the list into chunks of equal size
-        int chunkSize = (int) Math.ceil((double) userCallExternalRequestDTOS.size() / 5);
-        List<List<UserCallExternalRequestDTO>> chunks = new ArrayList<>();
-        
-        for (int i = 0; i < userCallExternalRequestDTOS.size(); i += chunkSize) {
-            chunks.add(userCallExternalRequestDTOS.subList(i, 
-                Math.min(i + chunkSize, userCallExternalRequestDTOS.size())));
+        WebClient webClient = downstreamClientRegistry.get(userServiceClient);
+
+        // Small requests from concurrent callers share one downstream call
+        if (microBatcher.accepts(userCallExternalRequestDTOS.size())) {
+            return microBatcher.submit(currentUser, userCallExternalRequestDTOS,
+                merged -> postBatchChunk(webClient, currentUser, merged, "createUserReactive"));
         }
-        
-        System.out.println("chunks: " + chunks);
 
-        log.info("Thread [{}] - Split users into {} chunks for reactive processing", 
-            Thread.currentThread().getName(), chunks.size());
+        // Split the list into chunks sized by the adaptive controller
+        ChunkPlan plan = chunkController.plan(uri_batch, userCallExternalRequestDTOS.size());
+        List<List<UserCallExternalRequestDTO>> chunks = chunkController.split(userCallExternalRequestDTOS, plan);
+
+        log.info("Thread [{}] - Split users into {} chunks of up to {} for reactive processing", 
+            Thread.currentThread().getName(), chunks.size(), plan.getChunkSize());
 
         // Convert chunks to Flux and process them in parallel using custom scheduler
-        return Flux.fromIterable(chunks)
-            .doOnNext(chunk -> log.info("Thread [{}] - Starting to save chunk of {} users", 
+        return batchLog.batch("createUserReactive", userCallExternalRequestDTOS.size(), chunks.size(), Flux.fromIterable(chunks)
+            .doOnNext(chunk -> log.debug("Thread [{}] - Starting to save chunk of {} users", 
                 Thread.currentThread().getName(), chunk.size()))
             .flatMap(chunk -> 
                 Mono.<List<UserCallExternalRequestDTO>>fromCallable(() -> {
-                    log.info("Thread [{}] - Processing chunk in parallel", 
+                    log.debug("Thread [{}] - Processing chunk in parallel", 
                         Thread.currentThread().getName());
                     return chunk;
                 })
                 .subscribeOn(parallelScheduler)
-                .flatMapMany(processedChunk -> webClient.post()
-                    .uri(url)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .header("X-Current-User", currentUser)
-                    .body(BodyInserters.fromValue(processedChunk))
-                    .retrieve()
-                    .bodyToFlux(UserCallExternalResponseDTO.class)
-                    .timeout(Duration.ofSeconds(30))
-                    .retryWhen(Retry.backoff(3, Duration.ofSeconds(2))
-                        .filter(throwable -> throwable instanceof WebClientResponseException 
-                            && ((WebClientResponseException) throwable).getStatusCode().is5xxServerError()))
-                    .onErrorResume(e -> {
-                        log.error("Thread [{}] - Error processing chunk: {}", 
-                            Thread.currentThread().getName(), e.getMessage());
-                        return Flux.error(new RuntimeException("Failed to process chunk: " + e.getMessage(), e));
-                    })), 5)
-            .doOnNext(response -> log.info("Thread [{}] - Processed user: {}", 
-                Thread.currentThread().getName(), response.getUsername()))
-            .collectList()
-            .doOnNext(responses -> log.info("Thread [{}] - All processed users: {}", 
-                Thread.currentThread().getName(), responses))
-            .flatMapMany(Flux::fromIterable)
-            .doOnComplete(() -> log.info("Thread [{}] - Completed saving all users in reactive stream", 
-                Thread.currentThread().getName()))
+                .flatMapMany(processedChunk -> postBatchChunk(webClient, currentUser, processedChunk, "createUserReactive")), plan.getConcurrency())
+            .doOnNext(response -> batchLog.record("createUserReactive", response.getUsername()))
             .doOnError(e -> log.error("Thread [{}] - Error in reactive stream: {}", 
+                Thread.currentThread().getName(), e.getMessage())));
+    }
+
+    @Override
+    public Flux<UserCallExternalResponseDTO> createUserReactiveStream(String currentUser, Flux<UserCallExternalRequestDTO> userCallExternalRequestDTOS) {
+        WebClient webClient = downstreamClientRegistry.get(userServiceClient);
+
+        // The total is unknown while the body is still arriving, so take the controller's current chunk size
+        ChunkPlan plan = chunkController.plan(uri_batch, Integer.MAX_VALUE);
+        log.info("Thread [{}] - Starting streaming batch user creation with chunks of up to {} and {} in flight", 
+            Thread.currentThread().getName(), plan.getChunkSize(), plan.getConcurrency());
+
+        // The batch size is only known once the stream ends, so count as chunks go out
+        long start = System.nanoTime();
+        AtomicInteger users = new AtomicInteger();
+        AtomicInteger chunks = new AtomicInteger();
+        AtomicInteger results = new AtomicInteger();
+
+        // buffer + bounded flatMap only pull as many records as fit into the in-flight chunks
+        return userCallExternalRequestDTOS
+            .buffer(plan.getChunkSize())
+            .doOnNext(chunk -> {
+                users.addAndGet(chunk.size());
+                chunks.incrementAndGet();
+                log.debug("Thread [{}] - Starting to save streamed chunk of {} users", 
+                    Thread.currentThread().getName(), chunk.size());
+            })
+            .flatMap(chunk -> postBatchChunk(webClient, currentUser, chunk, "createUserReactiveStream")
+                .subscribeOn(parallelScheduler), plan.getConcurrency())
+            .doOnNext(response -> {
+                results.incrementAndGet();
+                batchLog.record("createUserReactiveStream", response.getUsername());
+            })
+            .doFinally(signal -> batchLog.batch("createUserReactiveStream", users.get(), chunks.get(), results.get(), start, signal.name()))
+            .doOnError(e -> log.error("Thread [{}] - Error in streaming request: {}", 
                 Thread.currentThread().getName(), e.getMessage()));
     }
 
+    private Flux<UserCallExternalResponseDTO> postBatchChunk(WebClient webClient, String currentUser, List<UserCallExternalRequestDTO> chunk, String strategy) {
+        return downstreamMetrics.chunk(uri_batch, strategy, chunk.size(),
+                fairChunkDispatcher.dispatch(currentUser, chunk.size(),
+                    chunkController.measure(uri_batch, callBatch(webClient, currentUser, chunk))))
+            .onErrorResume(e -> {
+                log.error("Thread [{}] - Error processing chunk: {}", 
+                    Thread.currentThread().getName(), e.getMessage());
+                return Flux.error(new RuntimeException("Failed to process chunk: " + e.getMessage(), e));
+            });
+    }
+
+    private Flux<UserCallExternalResponseDTO> callBatch(WebClient webClient, String currentUser, List<UserCallExternalRequestDTO> chunk) {
+        return downstreamRetries.retry(route_batch, downstreamResilience.protect(route_batch, webClient.post()
+                .uri(uri_batch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Current-User", currentUser)
+                .body(BodyInserters.fromValue(chunk))
+                .retrieve()
+                .bodyToFlux(UserCallExternalResponseDTO.class)
+                .timeout(Duration.ofSeconds(30))),
+            3, Duration.ofSeconds(2), throwable -> throwable instanceof WebClientResponseException 
+                && ((WebClientResponseException) throwable).getStatusCode().is5xxServerError());
+    }
+
     @Override
     @Transactional
     public Mono<List<UserCallExternalResponseDTO>> createUserReactiveAsList(String currentUser, List<UserCallExternalRequestDTO> userCallExternalRequestDTOS) {
@@ -537,17 +699,13 @@ public class UserServiceImpl implements UserService {
             log.info("Thread [{}] - Starting async batch user creation for {} users", 
                 Thread.currentThread().getName(), userCallExternalRequestDTOS.size());
 
-            // Split the list into chunks of equal size
-            int chunkSize = (int) Math.ceil((double) userCallExternalRequestDTOS.size() / 5);
-            List<List<UserCallExternalRequestDTO>> chunks = new ArrayList<>();
-            
-            for (int i = 0; i < userCallExternalRequestDTOS.size(); i += chunkSize) {
-                chunks.add(userCallExternalRequestDTOS.subList(i, 
-                    Math.min(i + chunkSize, userCallExternalRequestDTOS.size())));
-            }
+            // Split the list into chunks sized by the adaptive controller
+            long start = System.nanoTime();
+            ChunkPlan plan = chunkController.plan(uri_batch, userCallExternalRequestDTOS.size());
+            List<List<UserCallExternalRequestDTO>> chunks = chunkController.split(userCallExternalRequestDTOS, plan);
 
-            log.info("Thread [{}] - Split users into {} chunks for async processing", 
-                Thread.currentThread().getName(), chunks.size());
+            log.info("Thread [{}] - Split users into {} chunks of up to {} for async processing", 
+                Thread.currentThread().getName(), chunks.size(), plan.getChunkSize());
 
             // Process chunks in parallel using @Async
             List<CompletableFuture<List<UserCallExternalResponseDTO>>> futures = chunks.stream()
@@ -560,8 +718,7 @@ public class UserServiceImpl implements UserService {
                 .flatMap(List::stream)
                 .collect(Collectors.toList());
 
-            log.info("Thread [{}] - Completed async saving of all {} users", 
-                Thread.currentThread().getName(), allResponses.size());
+            batchLog.batch("createUserAsync", userCallExternalRequestDTOS.size(), chunks.size(), allResponses.size(), start, "SUCCESS");
             return allResponses;
 
         } catch (Exception e) {
@@ -575,32 +732,19 @@ public class UserServiceImpl implements UserService {
     protected CompletableFuture<List<UserCallExternalResponseDTO>> processChunkAsync(
             String currentUser, List<UserCallExternalRequestDTO> chunk) {
         try {
-            log.info("Thread [{}] - Starting async processing of chunk with {} users", 
+            log.debug("Thread [{}] - Starting async processing of chunk with {} users", 
                 Thread.currentThread().getName(), chunk.size());
 
-            String url = "http://localhost:8082/api/users/batch";
-            WebClient webClient = webClientBuilder
-                    .build()
-                    .mutate()
-                    .build();
+            WebClient webClient = downstreamClientRegistry.get(userServiceClient);
 
-            List<UserCallExternalResponseDTO> responses = webClient.post()
-                .uri(url)
-                .contentType(MediaType.APPLICATION_JSON)
-                .header("X-Current-User", currentUser)
-                .body(BodyInserters.fromValue(chunk))
-                .retrieve()
-                .bodyToFlux(UserCallExternalResponseDTO.class)
-                .timeout(Duration.ofSeconds(30))
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(2))
-                    .filter(throwable -> throwable instanceof WebClientResponseException 
-                        && ((WebClientResponseException) throwable).getStatusCode().is5xxServerError()))
-                .doOnNext(response -> log.info("Thread [{}] - Processed user: {}", 
-                    Thread.currentThread().getName(), response.getUsername()))
+            List<UserCallExternalResponseDTO> responses = downstreamMetrics.chunk(uri_batch, "createUserAsync", chunk.size(),
+                    fairChunkDispatcher.dispatch(currentUser, chunk.size(),
+                        chunkController.measure(uri_batch, callBatch(webClient, currentUser, chunk))))
+                .doOnNext(response -> batchLog.record("createUserAsync", response.getUsername()))
                 .collectList()
                 .block();
 
-            log.info("Thread [{}] - Completed processing chunk with {} users", 
+            log.debug("Thread [{}] - Completed processing chunk with {} users", 
                 Thread.currentThread().getName(), responses.size());
             return CompletableFuture.completedFuture(responses);
 
@@ -0,0 +1,45 @@
+package com.ecommerce.Customer.util;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Turns a newline-delimited JSON body into a {@link Flux} that parses one record per demand signal,
+ * so the request is never materialized on the heap as a whole.
+ */
+public final class NdjsonReader {
+
+    private NdjsonReader() {
+    }
+
+    public static <T> Flux<T> read(ObjectMapper objectMapper, InputStream inputStream, Class<T> type) {
+        return Flux.<T, MappingIterator<T>>generate(
+                () -> objectMapper.readerFor(type).readValues(inputStream),
+                (iterator, sink) -> {
+                    try {
+                        if (iterator.hasNextValue()) {
+                            sink.next(iterator.nextValue());
+                        } else {
+                            sink.complete();
+                        }
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                    return iterator;
+                },
+                iterator -> {
+                    try {
+                        iterator.close();
+                    } catch (IOException ignored) {
+                        // body is released by the container either way
+                    }
+                })
+            // reading the servlet input stream blocks
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+}
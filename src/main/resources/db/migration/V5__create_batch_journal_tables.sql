@@ -0,0 +1,24 @@
+CREATE TABLE batch_journal (
+    id VARCHAR(36) PRIMARY KEY,
+    requested_by VARCHAR(50) NOT NULL,
+    total_items INT NOT NULL,
+    total_chunks INT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_batch_journal_status_updated (status, updated_at)
+);
+
+CREATE TABLE batch_journal_chunk (
+    batch_id VARCHAR(36) NOT NULL,
+    chunk_index INT NOT NULL,
+    start_offset INT NOT NULL,
+    item_count INT NOT NULL,
+    payload LONGTEXT,
+    status VARCHAR(20) NOT NULL,
+    http_status INT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (batch_id, chunk_index),
+    FOREIGN KEY (batch_id) REFERENCES batch_journal(id) ON DELETE CASCADE
+);
@@ -0,0 +1,9 @@
+-- Keyset pagination orders and seeks on (created_at, id); rows without created_at would sort
+-- before every cursor and never be reached after the first page
+UPDATE users SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE users MODIFY created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_users_created_at_id ON users (created_at, id);
+
+-- Role filter: find the users of a role without scanning user_role by its (user_id, role_id) primary key
+CREATE INDEX idx_user_role_role_user ON user_role (role_id, user_id);
@@ -0,0 +1,53 @@
+-- Ids move from VARCHAR(36) to BINARY(16): 16-byte keys in the clustered index and in every secondary index.
+-- UUID_TO_BIN without the swap flag keeps canonical byte order, which is what UuidBinaryJavaType reads and
+-- writes; new UUIDv7 ids start with their timestamp in that order, so inserts append to the end of the index.
+-- Existing random ids are converted as they are.
+
+ALTER TABLE user_role
+    DROP FOREIGN KEY user_role_ibfk_1,
+    DROP FOREIGN KEY user_role_ibfk_2;
+
+-- updated_at is ON UPDATE CURRENT_TIMESTAMP; assigning it explicitly keeps the backfill from touching it
+ALTER TABLE users ADD COLUMN id_bin BINARY(16) NULL;
+UPDATE users SET id_bin = UUID_TO_BIN(id), updated_at = updated_at;
+
+ALTER TABLE roles ADD COLUMN id_bin BINARY(16) NULL;
+UPDATE roles SET id_bin = UUID_TO_BIN(id), updated_at = updated_at;
+
+ALTER TABLE user_role
+    ADD COLUMN user_id_bin BINARY(16) NULL,
+    ADD COLUMN role_id_bin BINARY(16) NULL;
+UPDATE user_role SET user_id_bin = UUID_TO_BIN(user_id), role_id_bin = UUID_TO_BIN(role_id);
+
+-- Old columns and keys are dropped in one statement and the new columns renamed into place in the next,
+-- so no single ALTER both drops a column and renames another onto its name.
+ALTER TABLE users
+    DROP INDEX idx_users_created_at_id,
+    DROP PRIMARY KEY,
+    DROP COLUMN id;
+ALTER TABLE users
+    CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+    ADD PRIMARY KEY (id),
+    ADD INDEX idx_users_created_at_id (created_at, id);
+
+ALTER TABLE roles
+    DROP PRIMARY KEY,
+    DROP COLUMN id;
+ALTER TABLE roles
+    CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+    ADD PRIMARY KEY (id);
+
+ALTER TABLE user_role
+    DROP INDEX idx_user_role_role_user,
+    DROP PRIMARY KEY,
+    DROP COLUMN user_id,
+    DROP COLUMN role_id;
+ALTER TABLE user_role
+    CHANGE COLUMN user_id_bin user_id BINARY(16) NOT NULL FIRST,
+    CHANGE COLUMN role_id_bin role_id BINARY(16) NOT NULL AFTER user_id,
+    ADD PRIMARY KEY (user_id, role_id),
+    ADD INDEX idx_user_role_role_user (role_id, user_id);
+
+ALTER TABLE user_role
+    ADD CONSTRAINT fk_user_role_user FOREIGN KEY (user_id) REFERENCES users (id),
+    ADD CONSTRAINT fk_user_role_role FOREIGN KEY (role_id) REFERENCES roles (id);
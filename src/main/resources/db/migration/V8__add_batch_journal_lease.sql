@@ -0,0 +1,6 @@
+-- Batches are owned by the instance that runs them for as long as it keeps renewing the lease;
+-- any instance may claim an ACCEPTED batch whose lease has run out and resume it.
+ALTER TABLE batch_journal
+    ADD COLUMN owner VARCHAR(100) NULL AFTER status,
+    ADD COLUMN lease_expires_at TIMESTAMP NULL AFTER owner,
+    ADD INDEX idx_batch_journal_status_lease (status, lease_expires_at);
@@ -0,0 +1,128 @@
+package com.ecommerce.Customer.batch;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveChunkControllerTest {
+
+    private static final String ROUTE = "/api/users/batch";
+
+    private BatchProperties properties;
+    private AdaptiveChunkController controller;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BatchProperties();
+        properties.getAdaptive().setDecreaseCooldown(Duration.ZERO);
+        controller = new AdaptiveChunkController(properties);
+    }
+
+    @Test
+    void plan_SmallBatch_ShouldUseSingleChunk() {
+        ChunkPlan plan = controller.plan(ROUTE, 10);
+        List<List<Integer>> chunks = controller.split(range(10), plan);
+
+        assertEquals(1, chunks.size());
+        assertEquals(10, chunks.get(0).size());
+    }
+
+    @Test
+    void plan_LargeBatch_ShouldRespectCeiling() {
+        ChunkPlan plan = controller.plan(ROUTE, 100_000);
+
+        assertTrue(plan.getChunkSize() <= properties.getAdaptive().getMaxChunkSize());
+        assertEquals(properties.getAdaptive().getInitialChunkSize(), plan.getChunkSize());
+    }
+
+    @Test
+    void record_FastSuccess_ShouldIncreaseAdditively() {
+        ChunkPlan before = controller.plan(ROUTE, 100_000);
+        controller.record(ROUTE, Duration.ofMillis(100).toNanos(), true);
+        ChunkPlan after = controller.plan(ROUTE, 100_000);
+
+        assertEquals(before.getChunkSize() + properties.getAdaptive().getChunkSizeStep(), after.getChunkSize());
+        assertEquals(before.getConcurrency() + 1, after.getConcurrency());
+    }
+
+    @Test
+    void record_Failures_ShouldDecreaseMultiplicativelyDownToFloor() {
+        for (int i = 0; i < 20; i++) {
+            controller.record(ROUTE, Duration.ofMillis(100).toNanos(), false);
+        }
+        ChunkPlan plan = controller.plan(ROUTE, 100_000);
+
+        assertEquals(properties.getAdaptive().getMinChunkSize(), plan.getChunkSize());
+        assertEquals(properties.getAdaptive().getMinConcurrency(), plan.getConcurrency());
+    }
+
+    @Test
+    void measure_ClientErrorResult_ShouldNotCountAsCongestion() {
+        ChunkPlan before = controller.plan(ROUTE, 100_000);
+        controller.measure(ROUTE, Mono.just(HttpStatus.BAD_REQUEST), status -> status).block();
+        ChunkPlan after = controller.plan(ROUTE, 100_000);
+
+        assertTrue(after.getChunkSize() > before.getChunkSize());
+        assertTrue(after.getConcurrency() > before.getConcurrency());
+    }
+
+    @Test
+    void measure_ServerErrorOrThrottledResult_ShouldBackOff() {
+        ChunkPlan initial = controller.plan(ROUTE, 100_000);
+        controller.measure(ROUTE, Mono.just(HttpStatus.SERVICE_UNAVAILABLE), status -> status).block();
+        ChunkPlan afterServerError = controller.plan(ROUTE, 100_000);
+        controller.measure(ROUTE, Mono.just(HttpStatus.TOO_MANY_REQUESTS), status -> status).block();
+        ChunkPlan afterThrottled = controller.plan(ROUTE, 100_000);
+
+        assertTrue(afterServerError.getChunkSize() < initial.getChunkSize());
+        assertTrue(afterThrottled.getChunkSize() < afterServerError.getChunkSize());
+    }
+
+    @Test
+    void measure_ClientErrorException_ShouldNotCountAsCongestion() {
+        ChunkPlan before = controller.plan(ROUTE, 100_000);
+        Flux<String> rejected = Flux.error(WebClientResponseException.create(409, "Conflict", null, null, null));
+        StepVerifier.create(controller.measure(ROUTE, rejected)).expectError().verify();
+        ChunkPlan after = controller.plan(ROUTE, 100_000);
+
+        assertTrue(after.getChunkSize() > before.getChunkSize());
+    }
+
+    @Test
+    void measure_Timeout_ShouldBackOff() {
+        ChunkPlan before = controller.plan(ROUTE, 100_000);
+        StepVerifier.create(controller.measure(ROUTE, Flux.error(new TimeoutException("Read timed out"))))
+            .expectError()
+            .verify();
+        ChunkPlan after = controller.plan(ROUTE, 100_000);
+
+        assertTrue(after.getChunkSize() < before.getChunkSize());
+    }
+
+    @Test
+    void split_ShouldKeepEveryItemInOrder() {
+        List<Integer> items = range(1234);
+        List<List<Integer>> chunks = controller.split(items, new ChunkPlan(100, 4));
+
+        assertEquals(13, chunks.size());
+        assertEquals(items, chunks.stream().flatMap(List::stream).collect(Collectors.toList()));
+    }
+
+    private List<Integer> range(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+}
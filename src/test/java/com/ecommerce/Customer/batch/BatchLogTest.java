@@ -0,0 +1,72 @@
+package com.ecommerce.Customer.batch;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.ecommerce.Customer.config.BatchProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchLogTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(BatchLog.class);
+    private ListAppender<ILoggingEvent> appender;
+    private BatchProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        properties = new BatchProperties();
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void record_SampledMode_ShouldLogOnlySampledRecords() {
+        properties.getLogging().setRecordSampleRate(0.0);
+        BatchLog batchLog = new BatchLog(properties);
+
+        for (int i = 0; i < 1000; i++) {
+            batchLog.record("createUser", "user" + i);
+        }
+
+        assertEquals(0, appender.list.size());
+    }
+
+    @Test
+    void record_FullMode_ShouldLogEveryRecord() {
+        properties.getLogging().setMode(BatchLogMode.FULL);
+        BatchLog batchLog = new BatchLog(properties);
+
+        for (int i = 0; i < 10; i++) {
+            batchLog.record("createUser", "user" + i);
+        }
+
+        assertEquals(10, appender.list.size());
+    }
+
+    @Test
+    void batch_ShouldWriteOneSummaryWithResultCount() {
+        BatchLog batchLog = new BatchLog(properties);
+
+        StepVerifier.create(batchLog.batch("createUserReactive", 300, 3, Flux.range(0, 300)))
+            .expectNextCount(300)
+            .verifyComplete();
+
+        assertEquals(1, appender.list.size());
+        String summary = appender.list.get(0).getFormattedMessage();
+        assertTrue(summary.contains("strategy=createUserReactive users=300 chunks=3 results=300 outcome=ON_COMPLETE"), summary);
+    }
+}
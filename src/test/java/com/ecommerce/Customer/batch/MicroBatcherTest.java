@@ -0,0 +1,136 @@
+package com.ecommerce.Customer.batch;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.dto.UserCallExternalResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Signal;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MicroBatcherTest {
+
+    private BatchProperties batchProperties;
+    private List<Integer> downstreamCalls;
+    private Function<List<UserCallExternalRequestDTO>, Flux<UserCallExternalResponseDTO>> downstream;
+
+    @BeforeEach
+    void setUp() {
+        batchProperties = new BatchProperties();
+        batchProperties.getMicroBatch().setMaxWait(Duration.ofMillis(50));
+        downstreamCalls = new CopyOnWriteArrayList<>();
+        downstream = users -> {
+            downstreamCalls.add(users.size());
+            return Flux.fromIterable(users)
+                .map(user -> new UserCallExternalResponseDTO(user.getUsername(), "CREATED", "ok"));
+        };
+    }
+
+    @Test
+    void submit_ConcurrentSmallRequests_ShouldShareOneDownstreamCall() {
+        MicroBatcher microBatcher = new MicroBatcher(batchProperties, new SimpleMeterRegistry());
+
+        Flux<List<String>> callers = Flux.range(0, 10)
+            .flatMap(caller -> microBatcher.submit("ngoc", users("caller" + caller + "-", 3), downstream)
+                .map(UserCallExternalResponseDTO::getUsername)
+                .collectList());
+
+        StepVerifier.create(callers)
+            .recordWith(ArrayList::new)
+            .expectNextCount(10)
+            .consumeRecordedWith(results -> results.forEach(usernames -> {
+                assertEquals(3, usernames.size());
+                String prefix = usernames.get(0).substring(0, usernames.get(0).indexOf('-') + 1);
+                assertTrue(usernames.stream().allMatch(username -> username.startsWith(prefix)));
+            }))
+            .verifyComplete();
+
+        assertEquals(List.of(30), downstreamCalls);
+    }
+
+    @Test
+    void submit_LaneFull_ShouldFlushWithoutWaiting() {
+        batchProperties.getMicroBatch().setMaxBatchSize(6);
+        batchProperties.getMicroBatch().setMaxWait(Duration.ofSeconds(10));
+        MicroBatcher microBatcher = new MicroBatcher(batchProperties, new SimpleMeterRegistry());
+
+        StepVerifier.create(Flux.merge(
+                microBatcher.submit("ngoc", users("a-", 3), downstream),
+                microBatcher.submit("ngoc", users("b-", 3), downstream)))
+            .expectNextCount(6)
+            .expectComplete()
+            .verify(Duration.ofSeconds(2));
+
+        assertEquals(List.of(6), downstreamCalls);
+    }
+
+    @Test
+    void submit_UserMissingFromMergedResponse_ShouldComeBackFailed() {
+        MicroBatcher microBatcher = new MicroBatcher(batchProperties, new SimpleMeterRegistry());
+        Function<List<UserCallExternalRequestDTO>, Flux<UserCallExternalResponseDTO>> dropsFirst =
+            users -> downstream.apply(users).skip(1);
+
+        StepVerifier.create(microBatcher.submit("ngoc", users("a-", 2), dropsFirst))
+            .expectNextMatches(response -> response.getUsername().equals("a-0")
+                && response.getStatus().equals(MicroBatcher.UNMATCHED_STATUS))
+            .expectNextMatches(response -> response.getUsername().equals("a-1"))
+            .verifyComplete();
+    }
+
+    @Test
+    void submit_MergedCallInvalid_ShouldRetryEachRequestAlone() {
+        MicroBatcher microBatcher = new MicroBatcher(batchProperties, new SimpleMeterRegistry());
+        // Rejects any call that contains a "bad-" user, as a downstream validating the whole batch would
+        Function<List<UserCallExternalRequestDTO>, Flux<UserCallExternalResponseDTO>> strict = users ->
+            users.stream().anyMatch(user -> user.getUsername().startsWith("bad-"))
+                ? Flux.error(WebClientResponseException.create(400, "Bad Request", null, null, null))
+                : downstream.apply(users);
+
+        StepVerifier.create(microBatcher.submit("ngoc", users("good-", 2), strict)
+                .mergeWith(microBatcher.submit("ngoc", users("bad-", 1), strict).onErrorResume(e -> Flux.empty())))
+            .expectNextCount(2)
+            .verifyComplete();
+
+        assertEquals(List.of(2), downstreamCalls);
+    }
+
+    @Test
+    void submit_MergedCallUnavailable_ShouldFailEveryRequestWithoutRetrying() {
+        MicroBatcher microBatcher = new MicroBatcher(batchProperties, new SimpleMeterRegistry());
+        List<Integer> calls = new CopyOnWriteArrayList<>();
+        Function<List<UserCallExternalRequestDTO>, Flux<UserCallExternalResponseDTO>> unavailable = users -> {
+            calls.add(users.size());
+            return Flux.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null));
+        };
+
+        StepVerifier.create(Flux.merge(
+                microBatcher.submit("ngoc", users("first-", 2), unavailable).materialize(),
+                microBatcher.submit("ngoc", users("second-", 1), unavailable).materialize())
+                .filter(Signal::isOnError))
+            .expectNextMatches(signal -> signal.getThrowable() instanceof WebClientResponseException.ServiceUnavailable)
+            .expectNextMatches(signal -> signal.getThrowable() instanceof WebClientResponseException.ServiceUnavailable)
+            .verifyComplete();
+
+        assertEquals(List.of(3), calls);
+    }
+
+    private static List<UserCallExternalRequestDTO> users(String prefix, int count) {
+        List<UserCallExternalRequestDTO> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(new UserCallExternalRequestDTO(prefix + i, "secret", prefix + i + "@example.com"));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.Customer.batch;
+
+import com.ecommerce.Customer.dto.BatchProgressDto;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProgressStreamTest {
+
+    @Test
+    void withProgress_ShouldPassResultsThroughAndEndWithSummary() {
+        Flux<String> results = Flux.just("SUCCESS", "SUCCESS", "FAILED");
+
+        StepVerifier.create(ProgressStream.withProgress(results, 3, Duration.ofSeconds(10), status -> status))
+            .expectNext("SUCCESS", "SUCCESS", "FAILED")
+            .assertNext(record -> {
+                BatchProgressDto summary = (BatchProgressDto) record;
+                assertEquals("summary", summary.getType());
+                assertEquals(3, summary.getProcessed());
+                assertEquals(Map.of("SUCCESS", 2L, "FAILED", 1L), summary.getStatusCounts());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void withProgress_SlowResults_ShouldEmitProgressRecordsInBetween() {
+        Flux<String> results = Flux.just("SUCCESS", "SUCCESS").delayElements(Duration.ofMillis(300));
+
+        long progressRecords = ProgressStream.withProgress(results, 2, Duration.ofMillis(50), status -> status)
+            .filter(record -> record instanceof BatchProgressDto && "progress".equals(((BatchProgressDto) record).getType()))
+            .count()
+            .block();
+
+        assertTrue(progressRecords > 0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.Customer.batch;
+
+import com.ecommerce.Customer.dto.UserBatchErrorDto;
+import com.ecommerce.Customer.dto.UserBatchSuccessfulDto;
+import com.ecommerce.Customer.dto.UserResponseBatchSuccessErrorDto;
+import com.ecommerce.Customer.dto.UserResponseFullBatchSuccessErrorDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuccessErrorAggregatorTest {
+
+    @Test
+    void aggregate_ShouldMergeCountsAndLists() {
+        SuccessErrorAggregator aggregator = SuccessErrorAggregator.aggregate(
+                Flux.just(chunk(HttpStatus.OK, 0, 3, 1), chunk(HttpStatus.OK, 10, 2, 2)), false, 100)
+            .block();
+
+        UserResponseFullBatchSuccessErrorDto result = aggregator.result();
+        assertEquals(HttpStatus.OK, aggregator.responseStatus());
+        assertEquals(HttpStatus.OK, result.getHttpStatus());
+        assertEquals(5, result.getBody().getSuccessCount());
+        assertEquals(3, result.getBody().getFailureCount());
+        assertEquals(62.5f, result.getBody().getSuccessRate());
+        assertEquals(5, result.getBody().getSuccessfulUsers().size());
+        assertEquals(3, result.getBody().getErrorUsers().size());
+    }
+
+    @Test
+    void aggregate_Compact_ShouldKeepCountsButCapErrorSamples() {
+        SuccessErrorAggregator aggregator = SuccessErrorAggregator.aggregate(
+                Flux.range(0, 10).map(i -> chunk(HttpStatus.OK, i * 100, 50, 50)), true, 20)
+            .block();
+
+        UserResponseBatchSuccessErrorDto body = aggregator.result().getBody();
+        assertEquals(500, body.getSuccessCount());
+        assertEquals(500, body.getFailureCount());
+        assertTrue(body.getSuccessfulUsers().isEmpty());
+        assertEquals(20, body.getErrorUsers().size());
+    }
+
+    @Test
+    void responseStatus_ShouldFollowShareOfSuccessfulChunks() {
+        SuccessErrorAggregator partial = new SuccessErrorAggregator(false, 100);
+        IntStream.range(0, 7).forEach(i -> partial.add(chunk(HttpStatus.OK, i, 1, 0)));
+        IntStream.range(0, 3).forEach(i -> partial.add(chunk(HttpStatus.SERVICE_UNAVAILABLE, i, 0, 0)));
+        assertEquals(HttpStatus.PARTIAL_CONTENT, partial.responseStatus());
+        assertEquals(HttpStatus.PARTIAL_CONTENT, partial.result().getHttpStatus());
+
+        SuccessErrorAggregator forbidden = new SuccessErrorAggregator(false, 100);
+        forbidden.add(chunk(HttpStatus.FORBIDDEN, 0, 0, 0));
+        assertEquals(HttpStatus.BAD_REQUEST, forbidden.responseStatus());
+        assertEquals(HttpStatus.FORBIDDEN, forbidden.result().getHttpStatus());
+    }
+
+    private UserResponseFullBatchSuccessErrorDto chunk(HttpStatus status, int offset, int successes, int errors) {
+        List<UserBatchSuccessfulDto> successful = new ArrayList<>();
+        List<UserBatchErrorDto> failed = new ArrayList<>();
+        for (int i = 0; i < successes; i++) {
+            UserBatchSuccessfulDto user = new UserBatchSuccessfulDto();
+            user.setUsername("ok" + (offset + i));
+            successful.add(user);
+        }
+        for (int i = 0; i < errors; i++) {
+            failed.add(new UserBatchErrorDto("failed" + (offset + i), "Duplicate username"));
+        }
+        float rate = successes + errors == 0 ? 0.0f : successes * 100.0f / (successes + errors);
+        return new UserResponseFullBatchSuccessErrorDto(status,
+            new UserResponseBatchSuccessErrorDto(successes, errors, rate, successful, failed));
+    }
+}
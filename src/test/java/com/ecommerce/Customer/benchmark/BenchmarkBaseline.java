@@ -0,0 +1,92 @@
+package com.ecommerce.Customer.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stored benchmark scores keyed by benchmark method and parameters. A result regresses when its average time
+ * or its allocation per operation grows by more than the allowed fraction over the baseline.
+ */
+final class BenchmarkBaseline {
+
+    /** Allocation changes below this many bytes per op are noise (TLAB sampling, escape analysis). */
+    private static final double ALLOCATION_SLACK_BYTES = 64;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record Score(double score, String unit, double allocBytesPerOp) {
+    }
+
+    private BenchmarkBaseline() {
+    }
+
+    static Map<String, Score> scores(Collection<RunResult> results) {
+        Map<String, Score> scores = new TreeMap<>();
+        for (RunResult result : results) {
+            Result<?> primary = result.getPrimaryResult();
+            double allocated = result.getSecondaryResults().entrySet().stream()
+                .filter(entry -> entry.getKey().endsWith("gc.alloc.rate.norm"))
+                .mapToDouble(entry -> entry.getValue().getScore())
+                .findFirst()
+                .orElse(Double.NaN);
+            scores.put(key(result.getParams()), new Score(primary.getScore(), primary.getScoreUnit(), allocated));
+        }
+        return scores;
+    }
+
+    static Map<String, Score> read(Path path) throws IOException {
+        return MAPPER.readValue(Files.readAllBytes(path), new TypeReference<TreeMap<String, Score>>() {
+        });
+    }
+
+    static void write(Path path, Map<String, Score> scores) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), scores);
+    }
+
+    // Every benchmark runs in AverageTime mode, so a higher score is a slower one
+    static List<String> regressions(Map<String, Score> baseline, Map<String, Score> current, double maxRegression) {
+        List<String> regressions = new ArrayList<>();
+        current.forEach((key, score) -> {
+            Score previous = baseline.get(key);
+            if (previous == null) {
+                return;
+            }
+            if (score.score() > previous.score() * (1 + maxRegression)) {
+                regressions.add(String.format("%s: %.3f -> %.3f %s (+%.1f%%)", key, previous.score(), score.score(),
+                    score.unit(), (score.score() / previous.score() - 1) * 100));
+            }
+            if (!Double.isNaN(previous.allocBytesPerOp()) && !Double.isNaN(score.allocBytesPerOp())
+                && score.allocBytesPerOp() > previous.allocBytesPerOp() * (1 + maxRegression) + ALLOCATION_SLACK_BYTES) {
+                regressions.add(String.format("%s: %.0f -> %.0f B/op allocated", key,
+                    previous.allocBytesPerOp(), score.allocBytesPerOp()));
+            }
+        });
+        return regressions;
+    }
+
+    private static String key(BenchmarkParams params) {
+        StringBuilder key = new StringBuilder(params.getBenchmark());
+        String separator = ":";
+        for (String name : params.getParamsKeys()) {
+            key.append(separator).append(name).append('=').append(params.getParam(name));
+            separator = ",";
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.Customer.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BenchmarkBaselineTest {
+
+    private static final String KEY = "SerializationBenchmark.writeRequestChunk:format=JSON,users=500";
+
+    @Test
+    void regressions_WithinThreshold_ShouldReportNothing() {
+        Map<String, BenchmarkBaseline.Score> baseline = Map.of(KEY, new BenchmarkBaseline.Score(100, "us/op", 10_000));
+        Map<String, BenchmarkBaseline.Score> current = Map.of(KEY, new BenchmarkBaseline.Score(109, "us/op", 10_900),
+            "NewBenchmark.run", new BenchmarkBaseline.Score(1, "us/op", 0));
+
+        assertTrue(BenchmarkBaseline.regressions(baseline, current, 0.10).isEmpty());
+    }
+
+    @Test
+    void regressions_SlowerOrAllocatingMore_ShouldReportBoth() {
+        Map<String, BenchmarkBaseline.Score> baseline = Map.of(KEY, new BenchmarkBaseline.Score(100, "us/op", 10_000));
+        Map<String, BenchmarkBaseline.Score> current = Map.of(KEY, new BenchmarkBaseline.Score(130, "us/op", 20_000));
+
+        List<String> regressions = BenchmarkBaseline.regressions(baseline, current, 0.10);
+
+        assertEquals(2, regressions.size());
+        assertTrue(regressions.get(0).contains("+30.0%"));
+    }
+
+    @Test
+    void write_ShouldRoundTrip(@TempDir Path dir) throws Exception {
+        Path path = dir.resolve("baseline.json");
+        Map<String, BenchmarkBaseline.Score> scores = Map.of(KEY, new BenchmarkBaseline.Score(12.5, "us/op", Double.NaN));
+
+        BenchmarkBaseline.write(path, scores);
+
+        assertEquals(12.5, BenchmarkBaseline.read(path).get(KEY).score());
+    }
+}
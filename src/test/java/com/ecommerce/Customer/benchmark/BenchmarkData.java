@@ -0,0 +1,86 @@
+package com.ecommerce.Customer.benchmark;
+
+import com.ecommerce.Customer.dto.RoleDTO;
+import com.ecommerce.Customer.dto.UserBatchErrorDto;
+import com.ecommerce.Customer.dto.UserBatchSuccessfulDto;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.dto.UserDTO;
+import com.ecommerce.Customer.dto.UserResponseBatchSuccessErrorDto;
+import com.ecommerce.Customer.entity.Role;
+import com.ecommerce.Customer.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic fixtures shaped like production payloads, so benchmark runs are comparable.
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static User user(int i) {
+        return User.builder()
+            .id("5f0c7a4e-0000-4000-8000-" + String.format("%012d", i))
+            .username("user" + i)
+            .password("$2a$10$" + "x".repeat(53))
+            .email("user" + i + "@example.com")
+            .birthday(LocalDate.of(1990, 1, 1).plusDays(i % 10000))
+            .address(i + " Nguyen Trai Street, Thanh Xuan, Hanoi")
+            .createdAt(CREATED_AT)
+            .updatedAt(CREATED_AT)
+            .roles(Set.of(
+                Role.builder().id("role-user").roleCode("USER").roleType("DEFAULT").build(),
+                Role.builder().id("role-admin").roleCode("ADMIN").roleType("SYSTEM").build()))
+            .build();
+    }
+
+    static UserDTO userDto(int i) {
+        User user = user(i);
+        return UserDTO.builder()
+            .id(user.getId())
+            .username(user.getUsername())
+            .password(user.getPassword())
+            .email(user.getEmail())
+            .birthday(user.getBirthday())
+            .address(user.getAddress())
+            .createdAt(user.getCreatedAt())
+            .updatedAt(user.getUpdatedAt())
+            .roles(Set.of(
+                RoleDTO.builder().id("role-user").roleCode("USER").roleType("DEFAULT").build(),
+                RoleDTO.builder().id("role-admin").roleCode("ADMIN").roleType("SYSTEM").build()))
+            .build();
+    }
+
+    static List<UserCallExternalRequestDTO> requests(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new UserCallExternalRequestDTO("user" + i, "P@ssw0rd-" + i, "user" + i + "@example.com"))
+            .toList();
+    }
+
+    /**
+     * Roughly one user in ten rejected, as in a typical success_error batch.
+     */
+    static UserResponseBatchSuccessErrorDto successErrorResponse(int count) {
+        List<UserBatchSuccessfulDto> successful = new ArrayList<>();
+        List<UserBatchErrorDto> errors = new ArrayList<>();
+        List<UserCallExternalRequestDTO> requests = requests(count);
+        for (int i = 0; i < requests.size(); i++) {
+            UserCallExternalRequestDTO request = requests.get(i);
+            if (i % 10 == 9) {
+                errors.add(new UserBatchErrorDto(request.getUsername(), "Username already exists"));
+            } else {
+                successful.add(new UserBatchSuccessfulDto(request.getUsername(), request.getEmail(), request.getPassword()));
+            }
+        }
+        return new UserResponseBatchSuccessErrorDto(successful.size(), errors.size(),
+            successful.size() * 100f / count, successful, errors);
+    }
+}
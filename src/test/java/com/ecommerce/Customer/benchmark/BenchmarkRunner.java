@@ -0,0 +1,62 @@
+package com.ecommerce.Customer.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point for the {@code benchmark} Maven profile. Runs the selected benchmarks with the GC profiler, then
+ * either records them as the new baseline ({@code jmh.updateBaseline=true}) or compares them against it and
+ * exits non-zero when any result regressed by more than {@code jmh.maxRegression}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(System.getProperty("jmh.include", "com.ecommerce.Customer.benchmark.*Benchmark"))
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(System.getProperty("jmh.result", "target/jmh-result.json"));
+        if (System.getProperty("jmh.forks") != null) {
+            options.forks(Integer.getInteger("jmh.forks"));
+        }
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+        Map<String, BenchmarkBaseline.Score> current = BenchmarkBaseline.scores(results);
+        Path baselinePath = Path.of(System.getProperty("jmh.baseline", "benchmarks/baseline.json"));
+
+        if (Boolean.getBoolean("jmh.updateBaseline")) {
+            BenchmarkBaseline.write(baselinePath, current);
+            System.out.println("Recorded " + current.size() + " benchmark results as baseline " + baselinePath);
+            return;
+        }
+        if (!Files.exists(baselinePath)) {
+            System.out.println("No baseline at " + baselinePath + "; run with -Djmh.updateBaseline=true to record one");
+            return;
+        }
+
+        double maxRegression = Double.parseDouble(System.getProperty("jmh.maxRegression", "0.10"));
+        List<String> regressions = BenchmarkBaseline.regressions(BenchmarkBaseline.read(baselinePath), current, maxRegression);
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions above " + Math.round(maxRegression * 100) + "% against " + baselinePath);
+            return;
+        }
+        System.err.println("Benchmark regressions above " + Math.round(maxRegression * 100) + "% against " + baselinePath + ":");
+        regressions.forEach(regression -> System.err.println("  " + regression));
+        System.exit(1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.Customer.benchmark;
+
+import com.ecommerce.Customer.batch.AdaptiveChunkController;
+import com.ecommerce.Customer.batch.ChunkPlan;
+import com.ecommerce.Customer.config.BatchProperties;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chunk planning and splitting as done once per batch request before any downstream call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkingBenchmark {
+
+    @Param({"1000", "10000"})
+    private int users;
+
+    private AdaptiveChunkController chunkController;
+    private List<UserCallExternalRequestDTO> requests;
+
+    @Setup
+    public void setUp() {
+        chunkController = new AdaptiveChunkController(new BatchProperties());
+        requests = BenchmarkData.requests(users);
+    }
+
+    @Benchmark
+    public List<List<UserCallExternalRequestDTO>> planAndSplit() {
+        ChunkPlan plan = chunkController.plan("/api/users/batch", requests.size());
+        return chunkController.split(requests, plan);
+    }
+}
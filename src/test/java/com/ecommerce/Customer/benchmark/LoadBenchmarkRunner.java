@@ -0,0 +1,329 @@
+package com.ecommerce.Customer.benchmark;
+
+import com.ecommerce.Customer.CustomerApplication;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.repository.UserRepository;
+import com.ecommerce.Customer.service.UserService;
+import com.ecommerce.Customer.standin.LatencyDistribution;
+import com.ecommerce.Customer.standin.StandInFaults;
+import com.ecommerce.Customer.standin.UserServiceStandIn;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.mockito.Mockito;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * End-to-end load benchmark of the batch creation strategies. Boots the application in-process against a
+ * {@link UserServiceStandIn} with log-normal downstream latency, then for every strategy, batch size and
+ * concurrency level runs a closed loop of back-to-back requests and reports throughput, HdrHistogram latency
+ * percentiles, peak heap and peak thread count.
+ *
+ * <p>Persistence is stubbed (no MySQL needed) and the batch journal is off, so the numbers isolate the
+ * downstream fan-out of each strategy. Every request comes from the same caller, so micro-batching is off unless
+ * {@code load.microBatch=true}: otherwise concurrent small batches merge into one downstream call and the
+ * higher-concurrency cells measure the batcher rather than the strategy. Heap and thread figures cover the whole JVM, load generator included.
+ * Configured with system properties, see {@code load.*} below; run with {@code mvn -Pload-benchmark verify}.
+ */
+public final class LoadBenchmarkRunner {
+
+    private static final String CALLER = "ngoc";
+
+    private LoadBenchmarkRunner() {
+    }
+
+    enum Strategy {
+        CREATE_USER("/api/v1/users/batch"),
+        /** The JSON array body of the reactive endpoint, read in full before the first downstream call. */
+        CREATE_USER_REACTIVE("/api/v1/users/batch/reactive"),
+        /** The same endpoint with an NDJSON body, streamed into downstream chunks as lines arrive. */
+        CREATE_USER_REACTIVE_STREAM("/api/v1/users/batch/reactive", MediaType.APPLICATION_NDJSON_VALUE),
+        CREATE_USER_REACTIVE_AS_LIST("/api/v1/users/batch/reactive/list"),
+        CREATE_USER_REACTIVE_TEST("/api/v1/users/batch/reactive/test"),
+        CREATE_USER_REACTIVE_TEST_SUCCESS_ERROR("/api/v1/users/batch/reactive/test/success_error"),
+        /** No endpoint; called on the service bean, so it skips the HTTP layer the others pay for. */
+        CREATE_USER_ASYNC(null);
+
+        private final String path;
+        private final String contentType;
+
+        Strategy(String path) {
+            this(path, MediaType.APPLICATION_JSON_VALUE);
+        }
+
+        Strategy(String path, String contentType) {
+            this.path = path;
+            this.contentType = contentType;
+        }
+
+        byte[] body(ObjectMapper mapper, List<UserCallExternalRequestDTO> users) throws IOException {
+            if (!MediaType.APPLICATION_NDJSON_VALUE.equals(contentType)) {
+                return mapper.writeValueAsBytes(users);
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            for (UserCallExternalRequestDTO user : users) {
+                body.write(mapper.writeValueAsBytes(user));
+                body.write('\n');
+            }
+            return body.toByteArray();
+        }
+    }
+
+    record Measurement(long errors, double seconds, Histogram latency, long peakHeapBytes, int peakThreads) {
+    }
+
+    record Cell(Strategy strategy, int batchSize, int concurrency, long requests, long errors, double seconds,
+                Histogram latency, long peakHeapBytes, int peakThreads) {
+
+        Cell(Strategy strategy, int batchSize, int concurrency, Measurement measurement) {
+            this(strategy, batchSize, concurrency, measurement.latency().getTotalCount(), measurement.errors(),
+                measurement.seconds(), measurement.latency(), measurement.peakHeapBytes(), measurement.peakThreads());
+        }
+
+        double requestsPerSecond() {
+            return requests / seconds;
+        }
+
+        double usersPerSecond() {
+            return requests * batchSize / seconds;
+        }
+
+        double millis(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1_000_000.0;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Strategy> strategies = Arrays.stream(System.getProperty("load.strategies", allStrategies()).split(","))
+            .map(String::trim).map(Strategy::valueOf).toList();
+        int[] batchSizes = ints(System.getProperty("load.batchSizes", "10,100,1000"));
+        int[] concurrencies = ints(System.getProperty("load.concurrency", "1,8,32"));
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT3S"));
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT10S"));
+        Duration downstreamMedian = Duration.parse(System.getProperty("load.downstream.median", "PT0.02S"));
+        double downstreamSigma = Double.parseDouble(System.getProperty("load.downstream.sigma", "0.5"));
+        Path output = Path.of(System.getProperty("load.output", "target/load-benchmark"));
+        Files.createDirectories(output);
+
+        StandInFaults faults = new StandInFaults();
+        faults.setLatency(LatencyDistribution.logNormal(downstreamMedian, downstreamSigma).capped(Duration.ofSeconds(5)));
+
+        try (UserServiceStandIn standIn = UserServiceStandIn.start().faults(faults);
+             ConfigurableApplicationContext context = startApplication(standIn);
+             HttpClient httpClient = HttpClient.newBuilder()
+                 .version(HttpClient.Version.HTTP_1_1)
+                 .executor(Executors.newVirtualThreadPerTaskExecutor())
+                 .build()) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            UserService userService = context.getBean(UserService.class);
+            ObjectMapper mapper = new ObjectMapper();
+            List<Cell> cells = new ArrayList<>();
+
+            for (Strategy strategy : strategies) {
+                for (int batchSize : batchSizes) {
+                    List<UserCallExternalRequestDTO> users = BenchmarkData.requests(batchSize);
+                    byte[] body = strategy.body(mapper, users);
+                    BooleanSupplier call = strategy.path == null
+                        ? () -> !userService.createUserAsync(CALLER, users).isEmpty()
+                        : () -> post(httpClient, port, strategy, body);
+                    for (int concurrency : concurrencies) {
+                        run(call, concurrency, warmup);
+                        Cell cell = new Cell(strategy, batchSize, concurrency, run(call, concurrency, duration));
+                        cells.add(cell);
+                        writeHistogram(output, cell);
+                        System.out.printf("%-40s size=%-5d conc=%-3d %8.1f req/s  p50=%7.1fms  p99=%7.1fms  errors=%d%n",
+                            strategy, batchSize, concurrency, cell.requestsPerSecond(), cell.millis(50), cell.millis(99),
+                            cell.errors());
+                    }
+                }
+            }
+            report(System.out, cells);
+            try (PrintStream csv = new PrintStream(Files.newOutputStream(output.resolve("summary.csv")))) {
+                csv(csv, cells);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(UserServiceStandIn standIn) {
+        // Command-line arguments, unlike builder default properties, take precedence over application.yml
+        return new SpringApplicationBuilder(CustomerApplication.class)
+            .initializers(context -> {
+                // Persistence is out of scope; these stand in for the beans the excluded auto-configuration provides
+                context.getBeanFactory().registerSingleton("userRepository", Mockito.mock(UserRepository.class));
+                context.getBeanFactory().registerSingleton("jdbcTemplate", Mockito.mock(JdbcTemplate.class));
+                context.getBeanFactory().registerSingleton("transactionManager", noOpTransactionManager());
+            })
+            .run(
+                "--server.port=0",
+                "--spring.autoconfigure.exclude="
+                    + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                    + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                    + "org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration,"
+                    + "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration",
+                "--spring.docker.compose.enabled=false",
+                "--downstream.clients.user-service.base-url=" + standIn.baseUrl(),
+                "--batch.journal.enabled=false",
+                "--caller-limits.enabled=false",
+                "--batch.micro-batch.enabled=" + System.getProperty("load.microBatch", "false"),
+                "--logging.level.com.ecommerce.Customer=" + System.getProperty("load.appLogLevel", "WARN"));
+    }
+
+    private static Measurement run(BooleanSupplier call, int concurrency, Duration duration) throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+
+        Recorder recorder = new Recorder(3);
+        AtomicLong errors = new AtomicLong();
+        AtomicLong peakHeap = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = call.getAsBoolean();
+                        } catch (RuntimeException e) {
+                            ok = false;
+                        }
+                        recorder.recordValue(System.nanoTime() - start);
+                        if (!ok) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+                while (running.get()) {
+                    peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            workers.shutdown();
+            workers.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS);
+            running.set(false);
+            sampler.join();
+        }
+
+        return new Measurement(errors.get(), duration.toNanos() / 1e9, recorder.getIntervalHistogram(),
+            peakHeap.get(), threads.getPeakThreadCount());
+    }
+
+    private static boolean post(HttpClient httpClient, int port, Strategy strategy, byte[] body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + strategy.path))
+            .header("Content-Type", strategy.contentType)
+            .header("X-Current-User", CALLER)
+            .timeout(Duration.ofSeconds(60))
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void writeHistogram(Path output, Cell cell) throws IOException {
+        Path file = output.resolve("%s-%d-%d.hgrm".formatted(cell.strategy(), cell.batchSize(), cell.concurrency()));
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            cell.latency().outputPercentileDistribution(out, 1_000_000.0);
+        }
+    }
+
+    private static void report(PrintStream out, List<Cell> cells) {
+        out.println();
+        out.printf("%-40s %6s %5s %10s %11s %9s %9s %9s %9s %7s %9s %8s%n", "strategy", "size", "conc",
+            "req/s", "users/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors", "heap MB", "threads");
+        for (Cell cell : cells) {
+            out.printf("%-40s %6d %5d %10.1f %11.1f %9.2f %9.2f %9.2f %9.2f %7d %9.1f %8d%n",
+                cell.strategy(), cell.batchSize(), cell.concurrency(), cell.requestsPerSecond(), cell.usersPerSecond(),
+                cell.millis(50), cell.millis(99), cell.millis(99.9), cell.latency().getMaxValue() / 1_000_000.0,
+                cell.errors(), cell.peakHeapBytes() / (1024.0 * 1024), cell.peakThreads());
+        }
+    }
+
+    private static void csv(PrintStream out, List<Cell> cells) {
+        out.println("strategy,batch_size,concurrency,requests,errors,requests_per_second,users_per_second,"
+            + "p50_ms,p99_ms,p999_ms,max_ms,peak_heap_bytes,peak_threads");
+        for (Cell cell : cells) {
+            out.printf("%s,%d,%d,%d,%d,%.2f,%.2f,%.3f,%.3f,%.3f,%.3f,%d,%d%n",
+                cell.strategy(), cell.batchSize(), cell.concurrency(), cell.requests(), cell.errors(),
+                cell.requestsPerSecond(), cell.usersPerSecond(), cell.millis(50), cell.millis(99), cell.millis(99.9),
+                cell.latency().getMaxValue() / 1_000_000.0, cell.peakHeapBytes(), cell.peakThreads());
+        }
+    }
+
+    private static PlatformTransactionManager noOpTransactionManager() {
+        return new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+            }
+        };
+    }
+
+    private static String allStrategies() {
+        return String.join(",", Arrays.stream(Strategy.values()).map(Enum::name).toList());
+    }
+
+    private static int[] ints(String csv) {
+        return Arrays.stream(csv.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
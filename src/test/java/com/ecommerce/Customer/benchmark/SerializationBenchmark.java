@@ -0,0 +1,113 @@
+package com.ecommerce.Customer.benchmark;
+
+import com.ecommerce.Customer.client.PayloadCompression;
+import com.ecommerce.Customer.client.PayloadFormat;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.dto.UserResponseBatchSuccessErrorDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson encoding of downstream batch requests and decoding of success_error responses, at the chunk
+ * sizes the adaptive controller produces, in every {@link PayloadFormat} with and without gzip. The JSON mapper
+ * is configured like the one in {@code WebClientConfig}; gzip is applied to the whole body as
+ * {@code GzipRequestDecorator} does. Encoded sizes are printed per trial, since JMH only reports time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"50", "500", "2000"})
+    private int users;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private PayloadFormat format;
+
+    @Param({"NONE", "GZIP"})
+    private PayloadCompression compression;
+
+    private ObjectWriter requestWriter;
+    private ObjectWriter responseWriter;
+    private ObjectReader responseReader;
+    private List<UserCallExternalRequestDTO> requests;
+    private UserResponseBatchSuccessErrorDto response;
+    private byte[] encodedResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = switch (format) {
+            case SMILE -> Jackson2ObjectMapperBuilder.smile().build();
+            case CBOR -> Jackson2ObjectMapperBuilder.cbor().build();
+            case JSON -> new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .registerModule(new JavaTimeModule());
+        };
+        requestWriter = mapper.writerFor(mapper.getTypeFactory()
+            .constructCollectionType(List.class, UserCallExternalRequestDTO.class));
+        responseWriter = mapper.writerFor(UserResponseBatchSuccessErrorDto.class);
+        responseReader = mapper.readerFor(UserResponseBatchSuccessErrorDto.class);
+        requests = BenchmarkData.requests(users);
+        response = BenchmarkData.successErrorResponse(users);
+        encodedResponse = compress(responseWriter.writeValueAsBytes(response));
+        System.out.printf("%n%-5s %-4s users=%-5d request=%8d B  response=%8d B%n", format, compression, users,
+            compress(requestWriter.writeValueAsBytes(requests)).length, encodedResponse.length);
+    }
+
+    @Benchmark
+    public byte[] writeRequestChunk() throws IOException {
+        return compress(requestWriter.writeValueAsBytes(requests));
+    }
+
+    @Benchmark
+    public byte[] writeSuccessErrorResponse() throws IOException {
+        return compress(responseWriter.writeValueAsBytes(response));
+    }
+
+    @Benchmark
+    public UserResponseBatchSuccessErrorDto readSuccessErrorResponse() throws IOException {
+        if (compression == PayloadCompression.NONE) {
+            return responseReader.readValue(encodedResponse);
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encodedResponse))) {
+            return responseReader.readValue(in);
+        }
+    }
+
+    private byte[] compress(byte[] encoded) throws IOException {
+        if (compression == PayloadCompression.NONE) {
+            return encoded;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(encoded);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.Customer.benchmark;
+
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.util.UserDataCallExternalApiGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fake user generation backs every batch endpoint called without a body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserGeneratorBenchmark {
+
+    @Param({"20", "1000"})
+    private int users;
+
+    private final UserDataCallExternalApiGenerator generator = new UserDataCallExternalApiGenerator();
+
+    @Benchmark
+    public List<UserCallExternalRequestDTO> generateUsers() {
+        return generator.generateUsers(users);
+    }
+}
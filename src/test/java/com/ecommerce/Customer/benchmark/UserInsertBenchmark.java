@@ -0,0 +1,124 @@
+package com.ecommerce.Customer.benchmark;
+
+import com.ecommerce.Customer.entity.TimeOrderedUuidGenerator;
+import com.ecommerce.Customer.entity.UuidBinaryJavaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched user inserts into a table that already holds {@code prefill} rows, with the old id layout (random UUIDv4
+ * in {@code VARCHAR(36)}) against the new one (UUIDv7 in {@code BINARY(16)}). The table mirrors {@code users} with
+ * its unique and {@code (created_at, id)} indexes. Scores are milliseconds per batch of 500 users.
+ *
+ * <p>Runs on in-memory H2 by default. The clustered-index effect the new layout targets is InnoDB's, so for
+ * representative numbers point {@code benchmark.jdbcUrl} at a scratch MySQL schema, e.g.
+ * {@code mvn -Pbenchmark verify -Djmh.include=UserInsert -Dbenchmark.jdbcUrl=jdbc:mysql://localhost:3308/bench?user=root&password=root}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String TABLE = "bench_users";
+
+    public enum IdLayout {
+        VARCHAR_RANDOM("VARCHAR(36)"),
+        BINARY_TIME_ORDERED("BINARY(16)");
+
+        private final String columnType;
+
+        IdLayout(String columnType) {
+            this.columnType = columnType;
+        }
+    }
+
+    @Param({"VARCHAR_RANDOM", "BINARY_TIME_ORDERED"})
+    private IdLayout layout;
+
+    @Param({"200000"})
+    private int prefill;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+            System.getProperty("benchmark.jdbcUrl", "jdbc:h2:mem:insert;MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " ("
+                + "id " + layout.columnType + " PRIMARY KEY, "
+                + "username VARCHAR(50) NOT NULL UNIQUE, "
+                + "password VARCHAR(255) NOT NULL, "
+                + "email VARCHAR(100) NOT NULL UNIQUE, "
+                + "created_at TIMESTAMP NOT NULL)");
+            statement.execute("CREATE INDEX idx_" + TABLE + "_created_at_id ON " + TABLE + " (created_at, id)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(
+            "INSERT INTO " + TABLE + " (id, username, password, email, created_at) VALUES (?, ?, ?, ?, ?)");
+        for (int i = 0; i < prefill; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + TABLE);
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    public int[] insertUsers() throws SQLException {
+        return insertBatch();
+    }
+
+    private int[] insertBatch() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long n = next++;
+            if (layout == IdLayout.VARCHAR_RANDOM) {
+                insert.setString(1, UUID.randomUUID().toString());
+            } else {
+                insert.setBytes(1, UuidBinaryJavaType.toBytes(TimeOrderedUuidGenerator.next().toString()));
+            }
+            insert.setString(2, "user" + n);
+            insert.setString(3, "$2a$10$" + "x".repeat(53));
+            insert.setString(4, "user" + n + "@example.com");
+            insert.setTimestamp(5, now);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+}
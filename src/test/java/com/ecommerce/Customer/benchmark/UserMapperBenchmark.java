@@ -0,0 +1,46 @@
+package com.ecommerce.Customer.benchmark;
+
+import com.ecommerce.Customer.dto.UserDTO;
+import com.ecommerce.Customer.entity.User;
+import com.ecommerce.Customer.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private final UserMapper userMapper = new UserMapper();
+    private User user;
+    private UserDTO userDto;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkData.user(42);
+        userDto = BenchmarkData.userDto(42);
+    }
+
+    @Benchmark
+    public UserDTO toDTO() {
+        return userMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public User toEntityfromUserDTO() {
+        return userMapper.toEntityfromUserDTO(userDto);
+    }
+}
@@ -0,0 +1,151 @@
+package com.ecommerce.Customer.benchmark;
+
+import com.ecommerce.Customer.dto.RoleDTO;
+import com.ecommerce.Customer.dto.UserDTO;
+import com.ecommerce.Customer.entity.Role;
+import com.ecommerce.Customer.entity.User;
+import com.ecommerce.Customer.mapper.UserMapper;
+import com.ecommerce.Customer.repository.UserRepository;
+import com.ecommerce.Customer.repository.UserRoleView;
+import com.ecommerce.Customer.repository.UserView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Loads one listing page of users with their roles, as managed entities mapped by {@link UserMapper#toDTO(User)}
+ * versus the {@link UserView} / {@link UserRoleView} projections the listing uses. Runs against an in-memory H2
+ * database in MySQL mode, so the numbers compare Hibernate's hydration and mapping cost rather than network time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserReadPathBenchmark {
+
+    // The listing query before projections, kept here as the point of comparison
+    private static final String ENTITY_QUERY = "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id IN :ids";
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private final UserMapper userMapper = new UserMapper();
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private List<String> pageIds;
+
+    // Deliberately not a @Configuration, so component scanning from the application's package skips it
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class PersistenceOnly {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PersistenceOnly.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:read-path;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.docker.compose.enabled=false",
+                "--logging.level.root=WARN");
+        userRepository = context.getBean(UserRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        TransactionTemplate readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        pageIds = readWrite.execute(status -> {
+            Role user = Role.builder().roleCode("USER").roleType("DEFAULT").build();
+            Role admin = Role.builder().roleCode("ADMIN").roleType("SYSTEM").build();
+            entityManager.persist(user);
+            entityManager.persist(admin);
+            List<User> users = IntStream.range(0, pageSize)
+                .mapToObj(i -> {
+                    User template = BenchmarkData.user(i);
+                    template.setId(null);
+                    template.setRoles(i % 3 == 0 ? Set.of(user, admin) : Set.of(user));
+                    return template;
+                })
+                .toList();
+            return userRepository.saveAll(users).stream().map(User::getId).toList();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserDTO> entities() {
+        return readOnly.execute(status -> entityManager.createQuery(ENTITY_QUERY, User.class)
+            .setParameter("ids", pageIds)
+            .getResultList()
+            .stream()
+            .map(userMapper::toDTO)
+            .toList());
+    }
+
+    @Benchmark
+    public List<UserDTO> projections() {
+        return readOnly.execute(status -> {
+            Map<String, UserView> usersById = userRepository.findViewsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(UserView::id, Function.identity()));
+            Map<String, Set<RoleDTO>> rolesByUserId = userRepository.findRoleViewsByUserIdIn(pageIds).stream()
+                .collect(Collectors.groupingBy(UserRoleView::userId,
+                    Collectors.mapping(userMapper::toRoleDTO, Collectors.toSet())));
+            return pageIds.stream()
+                .map(usersById::get)
+                .map(view -> userMapper.toDTO(view, rolesByUserId.getOrDefault(view.id(), new HashSet<>())))
+                .toList();
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.Customer.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class DownstreamMetricsFilterTest {
+
+    private static final URI BATCH_URI = URI.create("http://localhost/api/users/batch");
+
+    private SimpleMeterRegistry meterRegistry;
+    private DownstreamMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new DownstreamMetricsFilter("user-service", meterRegistry);
+    }
+
+    @Test
+    void filter_ServerError_ShouldRecordStatusAndOutcome() {
+        StepVerifier.create(filter.filter(request(), req -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build())))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        assertEquals(1, timer("503", DownstreamOutcome.SERVER_ERROR).count());
+    }
+
+    @Test
+    void filter_ConnectFailureAndReadTimeout_ShouldBeTaggedApart() {
+        StepVerifier.create(filter.filter(request(), req -> Mono.error(requestException(new ConnectException("Connection refused")))))
+            .expectError(WebClientRequestException.class)
+            .verify();
+        StepVerifier.create(filter.filter(request(), req -> Mono.error(requestException(ReadTimeoutException.INSTANCE))))
+            .expectError(WebClientRequestException.class)
+            .verify();
+
+        assertEquals(1, timer("NONE", DownstreamOutcome.CONNECT_FAILURE).count());
+        assertEquals(1, timer("NONE", DownstreamOutcome.TIMEOUT).count());
+    }
+
+    @Test
+    void filter_UriTemplate_ShouldDropBaseUrl() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost:8082/api/users/permission/alice"))
+            .attribute(WebClient.class.getName() + ".uriTemplate", "http://localhost:8082/api/users/permission/{user}")
+            .build();
+
+        StepVerifier.create(filter.filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.OK).build())))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        assertNotNull(meterRegistry.find("downstream.requests").tag("uri", "/api/users/permission/{user}").timer());
+    }
+
+    @Test
+    void filter_CancelledExchange_ShouldRecordOnce() {
+        StepVerifier.create(filter.filter(request(), req -> Mono.never()))
+            .thenAwait(Duration.ofMillis(10))
+            .thenCancel()
+            .verify();
+
+        assertEquals(1, timer("NONE", DownstreamOutcome.CANCELLED).count());
+    }
+
+    private ClientRequest request() {
+        return ClientRequest.create(HttpMethod.POST, BATCH_URI).build();
+    }
+
+    private WebClientRequestException requestException(Throwable cause) {
+        return new WebClientRequestException(cause, HttpMethod.POST, BATCH_URI, new HttpHeaders());
+    }
+
+    private Timer timer(String status, DownstreamOutcome outcome) {
+        Timer timer = meterRegistry.find("downstream.requests")
+            .tags("client", "user-service", "method", "POST", "uri", "/api/users/batch",
+                "status", status, "outcome", outcome.name())
+            .timer();
+        assertNotNull(timer, "no downstream.requests timer for " + status + "/" + outcome);
+        return timer;
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.Customer.client;
+
+import com.ecommerce.Customer.config.DownstreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DownstreamRetriesTest {
+
+    private static final String ROUTE = "test-route";
+
+    private SimpleMeterRegistry meterRegistry;
+    private DownstreamRetries downstreamRetries;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    void setUp() {
+        DownstreamProperties properties = new DownstreamProperties();
+        DownstreamProperties.Route route = new DownstreamProperties.Route();
+        route.getRetryBudget().setInitialTokens(2);
+        route.getRetryBudget().setRatio(0.1);
+        properties.getRoutes().put(ROUTE, route);
+
+        meterRegistry = new SimpleMeterRegistry();
+        downstreamRetries = new DownstreamRetries(properties, meterRegistry);
+        attempts = new AtomicInteger();
+    }
+
+    @Test
+    void retry_TransientFailure_ShouldRetryWithinBudget() {
+        Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() < 2
+            ? Mono.error(new RuntimeException("Server error"))
+            : Mono.just("ok"));
+
+        StepVerifier.create(downstreamRetries.retry(ROUTE, call, 3, Duration.ofMillis(1), e -> true))
+            .expectNext("ok")
+            .verifyComplete();
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void retry_BudgetExhausted_ShouldStopRetrying() {
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new RuntimeException("Server error"));
+        });
+
+        StepVerifier.create(downstreamRetries.retry(ROUTE, call, 5, Duration.ofMillis(1), e -> true))
+            .expectError(RuntimeException.class)
+            .verify();
+
+        // 2 initial tokens + 0.1 deposited by the call allow two retries on top of the first attempt
+        assertEquals(3, attempts.get());
+        assertEquals(1.0, meterRegistry.counter("downstream.retries.rejected", "route", ROUTE).count());
+    }
+
+    @Test
+    void retry_AttemptsExhausted_ShouldNotSpendTokenOnFinalFailure() {
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new RuntimeException("Server error"));
+        });
+
+        StepVerifier.create(downstreamRetries.retry(ROUTE, call, 1, Duration.ofMillis(1), e -> true))
+            .expectError(RuntimeException.class)
+            .verify();
+        attempts.set(0);
+
+        // 2 initial tokens + 0.1 per call - 1 retry leave about 1.2 tokens, enough for the next call's retry
+        StepVerifier.create(downstreamRetries.retry(ROUTE, call, 1, Duration.ofMillis(1), e -> true))
+            .expectError(RuntimeException.class)
+            .verify();
+
+        assertEquals(2, attempts.get());
+        assertEquals(0.0, meterRegistry.counter("downstream.retries.rejected", "route", ROUTE).count());
+    }
+
+    @Test
+    void retry_NonRetryableError_ShouldNotSpendBudget() {
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IllegalArgumentException("Bad request"));
+        });
+
+        StepVerifier.create(downstreamRetries.retry(ROUTE, call, 3, Duration.ofMillis(1),
+                e -> !(e instanceof IllegalArgumentException)))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, meterRegistry.counter("downstream.retries.rejected", "route", ROUTE).count());
+    }
+}
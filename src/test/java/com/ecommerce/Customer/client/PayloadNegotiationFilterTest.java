@@ -0,0 +1,178 @@
+package com.ecommerce.Customer.client;
+
+import com.ecommerce.Customer.config.DownstreamProperties;
+import com.ecommerce.Customer.dto.UserDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PayloadNegotiationFilterTest {
+
+    private ExchangeStrategies strategies;
+    private DownstreamProperties.Payload payload;
+    private List<Sent> sent;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+        strategies = ExchangeStrategies.builder()
+            .codecs(configurer -> configurer.customCodecs().register(new Jackson2SmileEncoder(smileMapper, PayloadFormat.SMILE.getMediaType())))
+            .build();
+        payload = new DownstreamProperties.Payload();
+        payload.setFormat(PayloadFormat.SMILE);
+        payload.setCompression(PayloadCompression.GZIP);
+        sent = new ArrayList<>();
+    }
+
+    @Test
+    void filter_DownstreamAdvertisesSupport_ShouldSwitchToSmileGzip() {
+        PayloadNegotiationFilter filter = new PayloadNegotiationFilter("test", payload);
+        HttpHeaders advertised = new HttpHeaders();
+        advertised.setAccept(List.of(PayloadFormat.SMILE.getMediaType(), MediaType.APPLICATION_JSON));
+        advertised.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ExchangeFunction downstream = exchange(HttpStatus.OK, advertised);
+
+        filter.filter(request(users(2000)), downstream).block();
+        filter.filter(request(users(2000)), downstream).block();
+
+        assertEquals(MediaType.APPLICATION_JSON, sent.get(0).contentType());
+        assertNull(sent.get(0).contentEncoding());
+        assertEquals(PayloadFormat.SMILE.getMediaType(), sent.get(1).contentType());
+        assertEquals("gzip", sent.get(1).contentEncoding());
+        assertTrue(sent.get(1).size() * 5 < sent.get(0).size(),
+            "Smile+gzip body " + sent.get(1).size() + "B should be far smaller than JSON " + sent.get(0).size() + "B");
+    }
+
+    @Test
+    void filter_SmallBody_ShouldNotCompress() {
+        payload.setRequireAdvertisement(false);
+        PayloadNegotiationFilter filter = new PayloadNegotiationFilter("test", payload);
+
+        filter.filter(request(users(1)), exchange(HttpStatus.OK, new HttpHeaders())).block();
+
+        assertEquals(PayloadFormat.SMILE.getMediaType(), sent.get(0).contentType());
+        assertNull(sent.get(0).contentEncoding());
+    }
+
+    @Test
+    void filter_UnsupportedMediaType_ShouldFallBackToJson() {
+        payload.setRequireAdvertisement(false);
+        PayloadNegotiationFilter filter = new PayloadNegotiationFilter("test", payload);
+        ExchangeFunction downstream = request -> write(request).then(Mono.fromSupplier(() ->
+            ClientResponse.create(MediaType.APPLICATION_JSON.equals(sent.get(sent.size() - 1).contentType())
+                ? HttpStatus.OK : HttpStatus.UNSUPPORTED_MEDIA_TYPE).build()));
+
+        ClientResponse response = filter.filter(request(users(100)), downstream).block();
+        filter.filter(request(users(100)), downstream).block();
+
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(3, sent.size());
+        assertEquals(PayloadFormat.SMILE.getMediaType(), sent.get(0).contentType());
+        assertEquals(MediaType.APPLICATION_JSON, sent.get(1).contentType());
+        assertEquals(MediaType.APPLICATION_JSON, sent.get(2).contentType());
+    }
+
+    @Test
+    void gzip_LargeBody_ShouldCompressOffTheCallingThread() {
+        List<String> writerThreads = new ArrayList<>();
+        MockClientHttpRequest target = new MockClientHttpRequest(HttpMethod.POST, URI.create("http://localhost/")) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                writerThreads.add(Thread.currentThread().getName());
+                return super.writeWith(body);
+            }
+        };
+        byte[] body = "x".repeat(64 * 1024).getBytes();
+
+        new GzipRequestDecorator(target, 1024).writeWith(Mono.just(target.bufferFactory().wrap(body))).block();
+
+        assertEquals("gzip", target.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(writerThreads.get(0).startsWith("parallel-"), "compressed on " + writerThreads.get(0));
+    }
+
+    private ClientRequest request(List<UserDTO> users) {
+        return ClientRequest.create(HttpMethod.POST, URI.create("http://localhost/api/v1/users/batch"))
+            .headers(headers -> headers.setContentType(MediaType.APPLICATION_JSON))
+            .body(BodyInserters.fromValue(users))
+            .build();
+    }
+
+    private ExchangeFunction exchange(HttpStatus status, HttpHeaders responseHeaders) {
+        return request -> write(request).then(Mono.fromSupplier(() ->
+            ClientResponse.create(status).headers(headers -> headers.addAll(responseHeaders)).build()));
+    }
+
+    private Mono<Void> write(ClientRequest request) {
+        MockClientHttpRequest outputMessage = new MockClientHttpRequest(request.method(), request.url());
+        outputMessage.getHeaders().addAll(request.headers());
+        return request.body().insert(outputMessage, new BodyInserter.Context() {
+                @Override
+                public List<HttpMessageWriter<?>> messageWriters() {
+                    return strategies.messageWriters();
+                }
+
+                @Override
+                public Optional<ServerHttpRequest> serverRequest() {
+                    return Optional.empty();
+                }
+
+                @Override
+                public Map<String, Object> hints() {
+                    return Map.of();
+                }
+            })
+            .then(Mono.defer(() -> DataBufferUtils.join(outputMessage.getBody())))
+            .doOnNext(body -> {
+                sent.add(new Sent(outputMessage.getHeaders().getContentType(),
+                    outputMessage.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), body.readableByteCount()));
+                DataBufferUtils.release(body);
+            })
+            .then();
+    }
+
+    private static List<UserDTO> users(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> {
+                UserDTO user = new UserDTO();
+                user.setUsername("user" + i);
+                user.setPassword("password" + i);
+                user.setEmail("user" + i + "@example.com");
+                user.setAddress("Street " + i + ", Hanoi");
+                return user;
+            })
+            .toList();
+    }
+
+    private record Sent(MediaType contentType, String contentEncoding, int size) {
+    }
+}
@@ -1,8 +1,13 @@
 package com.ecommerce.Customer.controller;
 
+import com.ecommerce.Customer.config.BatchProperties;
 import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.dto.UserDTO;
+import com.ecommerce.Customer.dto.UserPageDto;
 import com.ecommerce.Customer.dto.UserResponseFullBatchSuccessErrorDto;
 import com.ecommerce.Customer.dto.UserResponseBatchSuccessErrorDto;
+import com.ecommerce.Customer.service.IdempotencyStore;
+import com.ecommerce.Customer.service.UserExporter;
 import com.ecommerce.Customer.service.UserService;
 import com.ecommerce.Customer.util.UserDataCallExternalApiGenerator;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -21,14 +27,17 @@ import reactor.test.StepVerifier;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(UserController.class)
+@Import(BatchProperties.class)
 public class UserControllerWebFluxTest {
 
     @Autowired
@@ -40,6 +49,12 @@ public class UserControllerWebFluxTest {
     @MockBean
     private UserDataCallExternalApiGenerator userDataCallExternalApiGenerator;
 
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    @MockBean
+    private UserExporter userExporter;
+
     private UserResponseFullBatchSuccessErrorDto successResponse;
     private UserResponseFullBatchSuccessErrorDto forbiddenResponse;
 
@@ -57,6 +72,10 @@ public class UserControllerWebFluxTest {
             new UserResponseBatchSuccessErrorDto(0, 0, 0.0f, new ArrayList<>(), new ArrayList<>())
         );
 
+        // Without an Idempotency-Key the store just runs the call
+        when(idempotencyStore.flux(anyString(), any(), any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<Flux<?>>>getArgument(3).get());
+
         // Configure WebTestClient to disable CSRF
         webTestClient = webTestClient.mutateWith(SecurityMockServerConfigurers.csrf());
     }
@@ -158,4 +177,22 @@ public class UserControllerWebFluxTest {
             .exchange()
             .expectStatus().is5xxServerError();
     }
-} 
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "ngoc")
+    void testGetAllUsers_ShouldReturnPageAndNextCursor() {
+        UserDTO user = UserDTO.builder().id("1").username("alice").build();
+        when(userService.listUsers(argThat(criteria -> "ADMIN".equals(criteria.getRoleCode())
+                && "al".equals(criteria.getUsernamePrefix())), eq("abc"), eq(1)))
+            .thenReturn(new UserPageDto(List.of(user), "next"));
+
+        webTestClient.get()
+            .uri("/api/v1/users?limit=1&cursor=abc&role=ADMIN&usernamePrefix=al")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().valueEquals("X-Next-Cursor", "next")
+            .expectBodyList(UserDTO.class)
+            .hasSize(1)
+            .contains(user);
+    }
+}
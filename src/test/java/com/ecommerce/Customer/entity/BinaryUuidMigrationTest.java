@@ -0,0 +1,125 @@
+package com.ecommerce.Customer.entity;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs V1-V6 on a real MySQL, adds users with random VARCHAR ids, then applies the rest (V7 onwards) and checks that
+ * every id, role link and timestamp survived the move to {@code BINARY(16)}. Needs a scratch schema, which it cleans,
+ * e.g. against the docker-compose MySQL:
+ * {@code mvn test -Dtest=BinaryUuidMigrationTest -Dmigration.jdbcUrl="jdbc:mysql://localhost:3308/migration_check?createDatabaseIfNotExist=true&user=root&password=root"}.
+ * Skipped without {@code migration.jdbcUrl}; H2 has no {@code UUID_TO_BIN}.
+ */
+@EnabledIfSystemProperty(named = "migration.jdbcUrl", matches = ".+")
+class BinaryUuidMigrationTest {
+
+    private static final int EXTRA_USERS = 2_000;
+    private static final Timestamp UPDATED_AT = Timestamp.valueOf(LocalDateTime.of(2020, 1, 1, 0, 0));
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(System.getProperty("migration.jdbcUrl"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway(null).clean();
+    }
+
+    @Test
+    void migrate_V7_ShouldKeepIdsRoleLinksAndTimestamps() {
+        flyway("6").migrate();
+        // V3 left its foreign keys unnamed, V7 drops them by InnoDB's generated names
+        assertEquals(Set.of("user_role_ibfk_1", "user_role_ibfk_2"), foreignKeys());
+        insertUsers();
+        Map<String, String> before = snapshot("u.id", "r.id");
+
+        flyway(null).migrate();
+
+        assertEquals(before, snapshot("BIN_TO_UUID(u.id)", "BIN_TO_UUID(r.id)"));
+        assertEquals(Set.of("fk_user_role_user", "fk_user_role_role"), foreignKeys());
+        for (String column : List.of("users.id", "roles.id", "user_role.user_id", "user_role.role_id")) {
+            String[] parts = column.split("\\.");
+            assertEquals("binary(16)", jdbcTemplate.queryForObject(
+                "SELECT COLUMN_TYPE FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?",
+                String.class, parts[0], parts[1]), column);
+        }
+        assertTrue(indexes("users").contains("idx_users_created_at_id"));
+        assertTrue(indexes("user_role").contains("idx_user_role_role_user"));
+    }
+
+    private Flyway flyway(String target) {
+        var configuration = Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration")
+            .cleanDisabled(false);
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+
+    private void insertUsers() {
+        List<String> roleIds = jdbcTemplate.queryForList("SELECT id FROM roles", String.class);
+        List<Object[]> users = new ArrayList<>(EXTRA_USERS);
+        List<Object[]> links = new ArrayList<>(EXTRA_USERS);
+        for (int i = 0; i < EXTRA_USERS; i++) {
+            String id = UUID.randomUUID().toString();
+            users.add(new Object[] {id, "migrated" + i, "secret", "migrated" + i + "@example.com", UPDATED_AT});
+            links.add(new Object[] {id, roleIds.get(i % roleIds.size())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, password, email, updated_at) VALUES (?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO user_role (user_id, role_id) VALUES (?, ?)", links);
+        jdbcTemplate.update("UPDATE roles SET updated_at = ?", UPDATED_AT);
+    }
+
+    // username -> id, updated_at and role links; role_code -> id and updated_at
+    private Map<String, String> snapshot(String userId, String roleId) {
+        Map<String, Set<String>> userRoles = new HashMap<>();
+        jdbcTemplate.query("SELECT u.username, " + roleId + " AS role_id FROM users u "
+                + "JOIN user_role ur ON ur.user_id = u.id JOIN roles r ON r.id = ur.role_id",
+            rs -> {
+                userRoles.computeIfAbsent(rs.getString("username"), username -> new TreeSet<>()).add(rs.getString("role_id"));
+            });
+        Map<String, String> snapshot = new HashMap<>();
+        jdbcTemplate.query("SELECT u.username, " + userId + " AS id, u.updated_at FROM users u", rs -> {
+            String username = rs.getString("username");
+            snapshot.put("user:" + username, rs.getString("id") + " " + rs.getTimestamp("updated_at")
+                + " " + userRoles.getOrDefault(username, Set.of()));
+        });
+        jdbcTemplate.query("SELECT r.role_code, " + roleId + " AS id, r.updated_at FROM roles r", rs -> {
+            snapshot.put("role:" + rs.getString("role_code"), rs.getString("id") + " " + rs.getTimestamp("updated_at"));
+        });
+        assertTrue(snapshot.size() >= EXTRA_USERS);
+        return snapshot;
+    }
+
+    private Set<String> foreignKeys() {
+        return new TreeSet<>(jdbcTemplate.queryForList(
+            "SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS "
+                + "WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'user_role'", String.class));
+    }
+
+    private Set<String> indexes(String table) {
+        return new TreeSet<>(jdbcTemplate.queryForList(
+            "SELECT DISTINCT INDEX_NAME FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+            String.class, table));
+    }
+}
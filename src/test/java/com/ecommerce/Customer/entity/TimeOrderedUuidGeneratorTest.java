@@ -0,0 +1,38 @@
+package com.ecommerce.Customer.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void next_ShouldBeVersion7AndStrictlyIncreasingAsBinary() {
+        byte[] previous = null;
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = TimeOrderedUuidGenerator.next();
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+
+            byte[] bytes = UuidBinaryJavaType.toBytes(id.toString());
+            if (previous != null) {
+                assertTrue(Arrays.compareUnsigned(previous, bytes) < 0, "ids must sort in generation order");
+            }
+            previous = bytes;
+        }
+    }
+
+    @Test
+    void binaryForm_ShouldRoundTripToCanonicalString() {
+        String id = "5f0c7a4e-0000-4000-8000-000000000042";
+
+        byte[] bytes = UuidBinaryJavaType.toBytes(id);
+
+        assertEquals(16, bytes.length);
+        assertEquals(id, UuidBinaryJavaType.fromBytes(bytes));
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecommerce.Customer.job;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import com.ecommerce.Customer.dto.BatchJobDto;
+import com.ecommerce.Customer.dto.UserBatchErrorDto;
+import com.ecommerce.Customer.dto.UserBatchSuccessfulDto;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.dto.UserResponseBatchSuccessErrorDto;
+import com.ecommerce.Customer.dto.UserResponseFullBatchSuccessErrorDto;
+import com.ecommerce.Customer.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchJobServiceTest {
+
+    private UserService userService;
+    private BatchProperties batchProperties;
+    private BatchJobService batchJobService;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        batchProperties = new BatchProperties();
+        batchProperties.getJobs().setMaxConcurrentJobs(1);
+        batchProperties.getJobs().setQueueCapacity(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchJobService.destroy();
+    }
+
+    @Test
+    void submit_ShouldStreamProgressAndAggregateResults() {
+        when(userService.createUserReactiveTestSuccessError(anyString(), any())).thenReturn(Flux.just(
+            chunkResult(HttpStatus.OK, 2, 0),
+            chunkResult(HttpStatus.PARTIAL_CONTENT, 1, 1)).delayElements(Duration.ofMillis(20)));
+        batchJobService = new BatchJobService(userService, batchProperties, new SimpleMeterRegistry());
+
+        BatchJobDto submitted = batchJobService.submit("ngoc", users(4));
+
+        StepVerifier.create(batchJobService.updates(submitted.getJobId()).orElseThrow()
+                .filter(update -> update.getStatus().isFinished()))
+            .assertNext(finished -> {
+                assertEquals(BatchJobStatus.COMPLETED, finished.getStatus());
+                assertEquals(2, finished.getProcessedChunks());
+                assertEquals(3, finished.getResult().getSuccessCount());
+                assertEquals(1, finished.getResult().getFailureCount());
+                assertEquals(75.0f, finished.getResult().getSuccessRate());
+                assertEquals(1, finished.getResult().getErrorUsers().size());
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void submit_ShouldStartJobOnJobSchedulerNotSubmittingThread() {
+        AtomicReference<String> startedOn = new AtomicReference<>();
+        when(userService.createUserReactiveTestSuccessError(anyString(), any())).thenAnswer(invocation -> {
+            startedOn.set(Thread.currentThread().getName());
+            return Flux.just(chunkResult(HttpStatus.OK, 1, 0));
+        });
+        batchJobService = new BatchJobService(userService, batchProperties, new SimpleMeterRegistry());
+
+        String jobId = batchJobService.submit("ngoc", users(1)).getJobId();
+        batchJobService.updates(jobId).orElseThrow().blockLast(Duration.ofSeconds(5));
+
+        assertTrue(startedOn.get().startsWith("batch-job"), startedOn.get());
+    }
+
+    @Test
+    void submit_QueueFull_ShouldReject() {
+        when(userService.createUserReactiveTestSuccessError(anyString(), any())).thenReturn(Flux.never());
+        batchJobService = new BatchJobService(userService, batchProperties, new SimpleMeterRegistry());
+
+        batchJobService.submit("ngoc", users(1)); // running
+        batchJobService.submit("ngoc", users(1)); // queued
+
+        assertThrows(RejectedExecutionException.class, () -> batchJobService.submit("ngoc", users(1)));
+    }
+
+    @Test
+    void submit_ManyErrors_ShouldKeepCountsAndCappedErrorSamples() {
+        batchProperties.getJobs().setMaxErrorSamples(2);
+        when(userService.createUserReactiveTestSuccessError(anyString(), any())).thenReturn(Flux.just(
+            chunkResult(HttpStatus.BAD_REQUEST, 1, 3),
+            chunkResult(HttpStatus.BAD_REQUEST, 2, 3)));
+        batchJobService = new BatchJobService(userService, batchProperties, new SimpleMeterRegistry());
+
+        BatchJobDto submitted = batchJobService.submit("ngoc", users(9));
+
+        StepVerifier.create(batchJobService.updates(submitted.getJobId()).orElseThrow()
+                .filter(update -> update.getStatus().isFinished()))
+            .assertNext(finished -> {
+                assertEquals(3, finished.getResult().getSuccessCount());
+                assertEquals(6, finished.getResult().getFailureCount());
+                assertEquals(2, finished.getResult().getErrorUsers().size());
+                assertTrue(finished.getResult().getSuccessfulUsers().isEmpty());
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void submit_MoreFinishedJobsThanRetained_ShouldDropOldest() {
+        batchProperties.getJobs().setMaxFinishedJobs(2);
+        when(userService.createUserReactiveTestSuccessError(anyString(), any()))
+            .thenReturn(Flux.just(chunkResult(HttpStatus.OK, 1, 0)));
+        batchJobService = new BatchJobService(userService, batchProperties, new SimpleMeterRegistry());
+
+        List<String> jobIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String jobId = batchJobService.submit("ngoc", users(1)).getJobId();
+            batchJobService.updates(jobId).orElseThrow().blockLast(Duration.ofSeconds(5));
+            jobIds.add(jobId);
+        }
+
+        // The last job's own bookkeeping may still be running once its final update is out
+        await(() -> batchJobService.get(jobIds.get(0)).isEmpty());
+        assertTrue(batchJobService.get(jobIds.get(1)).isPresent());
+        assertTrue(batchJobService.get(jobIds.get(2)).isPresent());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static List<UserCallExternalRequestDTO> users(int count) {
+        List<UserCallExternalRequestDTO> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(new UserCallExternalRequestDTO("user" + i, "secret", "user" + i + "@example.com"));
+        }
+        return users;
+    }
+
+    private static UserResponseFullBatchSuccessErrorDto chunkResult(HttpStatus status, int success, int failure) {
+        List<UserBatchSuccessfulDto> successful = new ArrayList<>();
+        for (int i = 0; i < success; i++) {
+            successful.add(new UserBatchSuccessfulDto("ok" + i, "ok" + i + "@example.com", "secret"));
+        }
+        List<UserBatchErrorDto> errors = new ArrayList<>();
+        for (int i = 0; i < failure; i++) {
+            errors.add(new UserBatchErrorDto("bad" + i, "Username already exists"));
+        }
+        return new UserResponseFullBatchSuccessErrorDto(status, new UserResponseBatchSuccessErrorDto(
+            success, failure, (float) success / (success + failure), successful, errors));
+    }
+}
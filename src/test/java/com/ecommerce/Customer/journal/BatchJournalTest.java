@@ -0,0 +1,119 @@
+package com.ecommerce.Customer.journal;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchJournalTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JournalWriter journalWriter;
+    private BatchJournal instanceA;
+    private BatchJournal instanceB;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE batch_journal (id VARCHAR(36) PRIMARY KEY, requested_by VARCHAR(50) NOT NULL, "
+            + "total_items INT NOT NULL, total_chunks INT NOT NULL, status VARCHAR(20) NOT NULL, owner VARCHAR(100), "
+            + "lease_expires_at TIMESTAMP, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE batch_journal_chunk (batch_id VARCHAR(36) NOT NULL, chunk_index INT NOT NULL, "
+            + "start_offset INT NOT NULL, item_count INT NOT NULL, payload LONGTEXT, status VARCHAR(20) NOT NULL, http_status INT, "
+            + "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+            + "PRIMARY KEY (batch_id, chunk_index))");
+
+        journalWriter = new JournalWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+            new BatchProperties(), new SimpleMeterRegistry());
+        journalWriter.afterPropertiesSet();
+        instanceA = journal("instance-a");
+        instanceB = journal("instance-b");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        journalWriter.destroy();
+    }
+
+    @Test
+    void claimExpired_LeaseStillHeld_ShouldNotClaim() {
+        instanceA.accept("ngoc", List.of(users(2))).block();
+
+        assertTrue(instanceB.claimExpired().isEmpty());
+        assertTrue(instanceA.claimExpired().isEmpty());
+    }
+
+    @Test
+    void claimExpired_ReleasedBatchPastLease_ShouldBeClaimedByOneInstanceOnly() {
+        JournaledBatch batch = instanceA.accept("ngoc", List.of(users(2), users(1))).block();
+        instanceA.release(batch.getBatchId());
+        expireLeases();
+
+        // A released batch is no longer renewed, so its lease stays expired
+        assertEquals(0, instanceA.renewLeases());
+        List<JournaledBatch> claimed = instanceB.claimExpired();
+
+        assertEquals(1, claimed.size());
+        assertEquals("ngoc", claimed.get(0).getRequestedBy());
+        assertEquals(2, claimed.get(0).getPendingChunks().size());
+        assertEquals("instance-b", jdbcTemplate.queryForObject("SELECT owner FROM batch_journal", String.class));
+        assertTrue(instanceA.claimExpired().isEmpty());
+    }
+
+    @Test
+    void renewLeases_ActiveBatch_ShouldKeepItFromBeingClaimed() {
+        instanceA.accept("ngoc", List.of(users(1))).block();
+        expireLeases();
+
+        assertEquals(1, instanceA.renewLeases());
+        assertTrue(instanceB.claimExpired().isEmpty());
+    }
+
+    @Test
+    void claimExpired_UndeliveredChunk_ShouldBeResumedButDoneChunkNot() {
+        JournaledBatch batch = instanceA.accept("ngoc", List.of(users(2), users(1))).block();
+        instanceA.recordOutcome(batch.getBatchId(), 0, 200).block();
+        instanceA.recordUndelivered(batch.getBatchId(), 1, 503).block();
+        instanceA.release(batch.getBatchId());
+        expireLeases();
+
+        List<JournaledBatch> claimed = instanceB.claimExpired();
+
+        assertEquals(1, claimed.size());
+        assertEquals(1, claimed.get(0).getPendingChunks().size());
+        assertEquals(1, claimed.get(0).getPendingChunks().get(0).getChunkIndex());
+    }
+
+    private BatchJournal journal(String instanceId) {
+        BatchProperties batchProperties = new BatchProperties();
+        batchProperties.getJournal().setInstanceId(instanceId);
+        return new BatchJournal(journalWriter, jdbcTemplate, new ObjectMapper(), batchProperties);
+    }
+
+    private void expireLeases() {
+        jdbcTemplate.update("UPDATE batch_journal SET lease_expires_at = TIMESTAMPADD(SECOND, -1, CURRENT_TIMESTAMP)");
+    }
+
+    private static List<UserCallExternalRequestDTO> users(int count) {
+        List<UserCallExternalRequestDTO> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(new UserCallExternalRequestDTO("user" + i, "secret", "user" + i + "@example.com"));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.Customer.journal;
+
+import com.ecommerce.Customer.config.BatchProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class JournalWriterTest {
+
+    private static final String SQL = "UPDATE batch_journal_chunk SET status = ? WHERE batch_id = ?";
+
+    private JdbcTemplate jdbcTemplate;
+    private JournalWriter journalWriter;
+    private CountDownLatch firstFlushStarted;
+    private CountDownLatch releaseFirstFlush;
+    private AtomicInteger flushes;
+    private AtomicInteger rowsWritten;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        firstFlushStarted = new CountDownLatch(1);
+        releaseFirstFlush = new CountDownLatch(1);
+        flushes = new AtomicInteger();
+        rowsWritten = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (flushes.incrementAndGet() == 1) {
+                firstFlushStarted.countDown();
+                releaseFirstFlush.await(5, TimeUnit.SECONDS);
+            }
+            List<?> args = invocation.getArgument(1);
+            rowsWritten.addAndGet(args.size());
+            return new int[args.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        journalWriter = new JournalWriter(jdbcTemplate, mock(PlatformTransactionManager.class),
+            new BatchProperties(), new SimpleMeterRegistry());
+        journalWriter.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        journalWriter.destroy();
+    }
+
+    @Test
+    void append_WritesQueuedDuringFlush_ShouldBeGroupCommitted() throws InterruptedException {
+        Mono<Void> first = journalWriter.append(List.of(new JournalWriter.Statement(SQL, "DONE", "batch-0")));
+        first.subscribe();
+        assertTrue(firstFlushStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> queued = Flux.range(1, 100)
+            .flatMap(i -> journalWriter.append(List.of(new JournalWriter.Statement(SQL, "DONE", "batch-" + i))))
+            .then()
+            .toFuture();
+        releaseFirstFlush.countDown();
+
+        StepVerifier.create(Mono.fromFuture(queued)).expectComplete().verify(Duration.ofSeconds(5));
+        assertEquals(101, rowsWritten.get());
+        assertTrue(flushes.get() < 10, "expected queued writes to share flushes, got " + flushes.get());
+    }
+
+    @Test
+    void append_ShouldCompleteOffTheWriterThread() {
+        releaseFirstFlush.countDown();
+
+        StepVerifier.create(journalWriter.append(List.of(new JournalWriter.Statement(SQL, "DONE", "batch-0")))
+                .then(Mono.fromCallable(() -> Thread.currentThread().getName())))
+            .assertNext(thread -> assertNotEquals("batch-journal-writer", thread))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+}
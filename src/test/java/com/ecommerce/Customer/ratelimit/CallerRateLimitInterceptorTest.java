@@ -0,0 +1,54 @@
+package com.ecommerce.Customer.ratelimit;
+
+import com.ecommerce.Customer.config.CallerLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallerRateLimitInterceptorTest {
+
+    @Test
+    void preHandle_OverBurst_ShouldRejectWithRetryAfter() {
+        CallerLimitProperties properties = new CallerLimitProperties();
+        properties.getDefaultLimit().setBurst(2);
+        properties.getDefaultLimit().setRequestsPerSecond(0.5);
+        CallerRateLimitInterceptor interceptor = new CallerRateLimitInterceptor(properties, new SimpleMeterRegistry());
+
+        assertTrue(interceptor.preHandle(batchRequest("dat"), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(batchRequest("dat"), new MockHttpServletResponse(), null));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(batchRequest("dat"), rejected, null));
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+        // Other callers have their own bucket
+        assertTrue(interceptor.preHandle(batchRequest("ngan"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void preHandle_ManyDistinctCallers_ShouldKeepAtMostMaxTrackedBuckets() {
+        CallerLimitProperties properties = new CallerLimitProperties();
+        properties.setMaxTrackedCallers(100);
+        CallerRateLimitInterceptor interceptor = new CallerRateLimitInterceptor(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(interceptor.preHandle(batchRequest("caller-" + i), new MockHttpServletResponse(), null));
+        }
+
+        assertTrue(interceptor.trackedCallers() <= 100, "tracked " + interceptor.trackedCallers());
+    }
+
+    private static MockHttpServletRequest batchRequest(String caller) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/users/batch");
+        request.addHeader("X-Current-User", caller);
+        return request;
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.Customer.ratelimit;
+
+import com.ecommerce.Customer.config.CallerLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FairChunkDispatcherTest {
+
+    private CallerLimitProperties properties;
+    private List<String> started;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CallerLimitProperties();
+        properties.setMaxInFlightChunks(1);
+        properties.setQuantum(100);
+        started = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    void dispatch_SmallCallerBehindLargeImport_ShouldNotWaitForWholeImport() {
+        FairChunkDispatcher dispatcher = new FairChunkDispatcher(properties, new SimpleMeterRegistry());
+        Sinks.Empty<Void> gate = Sinks.empty();
+
+        // Occupy the only slot so everything below has to queue
+        Mono<String> blocker = dispatcher.dispatch("import", 100, gate.asMono().thenReturn("blocker"));
+        Flux<String> importChunks = Flux.range(0, 10)
+            .flatMap(i -> dispatcher.dispatch("import", 100, chunk("import-" + i)));
+        Mono<String> small = dispatcher.dispatch("ngan", 100, chunk("ngan-0"));
+
+        StepVerifier.create(Flux.merge(blocker, importChunks, small).then())
+            .then(gate::tryEmitEmpty)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertEquals(11, started.size());
+        assertTrue(started.indexOf("ngan-0") <= 1, "small caller started at position " + started.indexOf("ngan-0"));
+    }
+
+    @Test
+    void dispatch_HigherWeight_ShouldGetLargerShare() {
+        CallerLimitProperties.Limit heavy = new CallerLimitProperties.Limit();
+        heavy.setWeight(3);
+        properties.getCallers().put("ngoc", heavy);
+        FairChunkDispatcher dispatcher = new FairChunkDispatcher(properties, new SimpleMeterRegistry());
+        Sinks.Empty<Void> gate = Sinks.empty();
+
+        Mono<String> blocker = dispatcher.dispatch("other", 1, gate.asMono().thenReturn("blocker"));
+        Flux<String> weighted = Flux.range(0, 6).flatMap(i -> dispatcher.dispatch("ngoc", 100, chunk("ngoc-" + i)));
+        Flux<String> regular = Flux.range(0, 6).flatMap(i -> dispatcher.dispatch("dat", 100, chunk("dat-" + i)));
+
+        StepVerifier.create(Flux.merge(blocker, weighted, regular).then())
+            .then(gate::tryEmitEmpty)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        long weightedInFirstFour = started.subList(0, 4).stream().filter(name -> name.startsWith("ngoc")).count();
+        assertEquals(3, weightedInFirstFour);
+    }
+
+    @Test
+    void dispatch_CallerLimitsDisabled_ShouldStillCapChunksInFlight() {
+        properties.setEnabled(false);
+        properties.setMaxInFlightChunks(2);
+        FairChunkDispatcher dispatcher = new FairChunkDispatcher(properties, new SimpleMeterRegistry());
+        Sinks.Empty<Void> gate = Sinks.empty();
+
+        Flux<String> burst = Flux.range(0, 10)
+            .flatMap(i -> dispatcher.dispatch("ngoc", 100, gate.asMono().then(chunk("ngoc-" + i))));
+
+        StepVerifier.create(burst.then())
+            .then(() -> {
+                assertEquals(2, dispatcher.inFlight());
+                assertEquals(8, dispatcher.waiting());
+                gate.tryEmitEmpty();
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertEquals(10, started.size());
+    }
+
+    private Mono<String> chunk(String name) {
+        return Mono.fromSupplier(() -> {
+            started.add(name);
+            return name;
+        });
+    }
+}
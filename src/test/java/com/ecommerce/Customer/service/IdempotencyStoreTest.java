@@ -0,0 +1,101 @@
+package com.ecommerce.Customer.service;
+
+import com.ecommerce.Customer.config.IdempotencyProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyStoreTest {
+
+    private IdempotencyProperties properties;
+    private IdempotencyStore idempotencyStore;
+    private AtomicInteger runs;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        idempotencyStore = new IdempotencyStore(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        runs = new AtomicInteger();
+    }
+
+    @Test
+    void flux_RepeatedKeyWhileRunning_ShouldAttachToSameRun() {
+        List<String> body = List.of("ngoc", "ngan");
+        Flux<String> first = idempotencyStore.flux("batch:ngoc", "key-1", body, this::slowBatch);
+        Flux<String> retry = idempotencyStore.flux("batch:ngoc", "key-1", body, this::slowBatch);
+
+        StepVerifier.create(Flux.merge(first, retry))
+            .expectNextCount(4)
+            .verifyComplete();
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void flux_CompletedKey_ShouldReplayStoredResult() {
+        List<String> body = List.of("ngoc", "ngan");
+        StepVerifier.create(idempotencyStore.flux("batch:ngoc", "key-1", body, this::slowBatch))
+            .expectNext("ngoc", "ngan")
+            .verifyComplete();
+
+        StepVerifier.create(idempotencyStore.flux("batch:ngoc", "key-1", body, this::slowBatch))
+            .expectNext("ngoc", "ngan")
+            .verifyComplete();
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void flux_FailedRun_ShouldNotBeStored() {
+        StepVerifier.create(idempotencyStore.flux("batch:ngoc", "key-1", null,
+                () -> Flux.<String>error(new RuntimeException("Server error"))))
+            .expectError(RuntimeException.class)
+            .verify();
+
+        StepVerifier.create(idempotencyStore.flux("batch:ngoc", "key-1", null, this::slowBatch))
+            .expectNextCount(2)
+            .verifyComplete();
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void flux_KeyReusedWithDifferentBody_ShouldBeRejected() {
+        idempotencyStore.flux("batch:ngoc", "key-1", List.of("ngoc"), this::slowBatch).blockLast();
+
+        assertThrows(IdempotencyKeyReusedException.class,
+            () -> idempotencyStore.flux("batch:ngoc", "key-1", List.of("dat"), this::slowBatch));
+    }
+
+    @Test
+    void flux_ResultTooLargeToStore_ShouldRefuseRepeatInsteadOfRerunning() {
+        properties.setMaxEntryItems(1);
+        idempotencyStore = new IdempotencyStore(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        List<String> body = List.of("ngoc", "ngan");
+
+        StepVerifier.create(idempotencyStore.flux("batch:ngoc", "key-1", body, this::slowBatch))
+            .expectNext("ngoc", "ngan")
+            .verifyComplete();
+
+        assertThrows(IdempotencyReplayUnavailableException.class,
+            () -> idempotencyStore.flux("batch:ngoc", "key-1", body, this::slowBatch));
+        assertEquals(1, runs.get());
+    }
+
+    private Flux<String> slowBatch() {
+        return Flux.defer(() -> {
+            runs.incrementAndGet();
+            return Flux.just("ngoc", "ngan").delayElements(Duration.ofMillis(50));
+        });
+    }
+}
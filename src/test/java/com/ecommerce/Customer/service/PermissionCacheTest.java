@@ -0,0 +1,80 @@
+package com.ecommerce.Customer.service;
+
+import com.ecommerce.Customer.config.PermissionCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PermissionCacheTest {
+
+    private PermissionCache permissionCache;
+    private AtomicInteger downstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        permissionCache = new PermissionCache(new PermissionCacheProperties(), new SimpleMeterRegistry());
+        downstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void get_ConcurrentLookups_ShouldCoalesceIntoOneDownstreamCall() {
+        Flux<Boolean> lookups = Flux.range(0, 20)
+            .flatMap(i -> permissionCache.get("ngoc", user -> slowLookup(true)));
+
+        StepVerifier.create(lookups)
+            .expectNextCount(20)
+            .verifyComplete();
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals(19, permissionCache.stats().getHitCount());
+    }
+
+    @Test
+    void get_DeniedUser_ShouldBeNegativelyCached() {
+        StepVerifier.create(permissionCache.get("guest", user -> slowLookup(false)))
+            .expectNext(false)
+            .verifyComplete();
+        StepVerifier.create(permissionCache.get("guest", user -> slowLookup(false)))
+            .expectNext(false)
+            .verifyComplete();
+
+        assertEquals(1, downstreamCalls.get());
+    }
+
+    @Test
+    void get_FailedLookup_ShouldNotBeCached() {
+        StepVerifier.create(permissionCache.get("ngoc", user -> Mono.error(new RuntimeException("Server error"))))
+            .expectError(RuntimeException.class)
+            .verify();
+        StepVerifier.create(permissionCache.get("ngoc", user -> slowLookup(true)))
+            .expectNext(true)
+            .verifyComplete();
+
+        assertEquals(1, downstreamCalls.get());
+    }
+
+    @Test
+    void invalidate_ShouldForceNewDownstreamCall() {
+        permissionCache.get("ngoc", user -> slowLookup(true)).block();
+        permissionCache.invalidate("ngoc");
+        permissionCache.get("ngoc", user -> slowLookup(true)).block();
+
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    private Mono<Boolean> slowLookup(boolean granted) {
+        return Mono.fromCallable(() -> {
+                downstreamCalls.incrementAndGet();
+                return granted;
+            })
+            .delayElement(Duration.ofMillis(50));
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.Customer.service;
+
+import com.ecommerce.Customer.config.UserCacheProperties;
+import com.ecommerce.Customer.dto.UserDTO;
+import com.ecommerce.Customer.mapper.UserMapper;
+import com.ecommerce.Customer.repository.UserRepository;
+import com.ecommerce.Customer.repository.UserRoleView;
+import com.ecommerce.Customer.repository.UserView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCacheTest {
+
+    private static final String ID = "5f0c7a4e-0000-4000-8000-000000000001";
+
+    private UserRepository userRepository;
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userCache = new UserCache(new UserCacheProperties(), userRepository, new UserMapper(), new SimpleMeterRegistry());
+        when(userRepository.findViewsByIdIn(List.of(ID))).thenReturn(List.of(view("ngoc")));
+        when(userRepository.findRoleViewsByUserIdIn(anyCollection()))
+            .thenReturn(List.of(new UserRoleView(ID, "role-user", "USER", "DEFAULT")));
+    }
+
+    @Test
+    void byId_RepeatedLookups_ShouldHitDatabaseOnce() {
+        UserDTO first = userCache.byId(ID).orElseThrow();
+        UserDTO second = userCache.byId(ID).orElseThrow();
+
+        assertEquals("ngoc", first.getUsername());
+        assertEquals(1, first.getRoles().size());
+        assertEquals(first, second);
+        verify(userRepository, times(1)).findViewsByIdIn(List.of(ID));
+    }
+
+    @Test
+    void byUsername_AfterLoadById_ShouldResolveThroughIndex() {
+        userCache.byId(ID);
+
+        assertEquals(ID, userCache.byUsername("ngoc").orElseThrow().getId());
+        assertEquals(ID, userCache.byEmail("ngoc@example.com").orElseThrow().getId());
+        verify(userRepository, times(0)).findViewByUsername("ngoc");
+    }
+
+    @Test
+    void invalidate_RenamedUser_ShouldDropOldUsernameAndReload() {
+        userCache.byId(ID);
+        when(userRepository.findViewsByIdIn(List.of(ID))).thenReturn(List.of(view("ngoc2")));
+
+        userCache.invalidate(ID, "ngoc2", "ngoc@example.com");
+
+        assertTrue(userCache.byUsername("ngoc").isEmpty());
+        assertEquals("ngoc2", userCache.byId(ID).orElseThrow().getUsername());
+    }
+
+    @Test
+    void byUsername_UnknownUser_ShouldNotBeCached() {
+        when(userRepository.findViewByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertTrue(userCache.byUsername("ghost").isEmpty());
+        assertTrue(userCache.byUsername("ghost").isEmpty());
+        verify(userRepository, times(2)).findViewByUsername("ghost");
+    }
+
+    private static UserView view(String username) {
+        return new UserView(ID, username, "ngoc@example.com", null, null, LocalDateTime.of(2024, 3, 1, 12, 0), null);
+    }
+}
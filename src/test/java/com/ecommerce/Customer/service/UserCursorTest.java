@@ -0,0 +1,31 @@
+package com.ecommerce.Customer.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserCursorTest {
+
+    @Test
+    void encode_ShouldRoundTrip() {
+        UserCursor cursor = new UserCursor(LocalDateTime.of(2024, 5, 1, 12, 30, 15), "0b6f3b1e-8d1c-4c55-9a57-2f0a8e1d9c44");
+
+        assertEquals(cursor, UserCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_MalformedCursor_ShouldThrowInvalidCursor() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2024-05-01T12:30:15".getBytes());
+        String badTimestamp = Base64.getUrlEncoder().encodeToString("yesterday|abc".getBytes());
+        String badId = Base64.getUrlEncoder().encodeToString("2024-05-01T12:30:15|not-a-uuid".getBytes());
+
+        assertThrows(InvalidCursorException.class, () -> UserCursor.decode("not base64!"));
+        assertThrows(InvalidCursorException.class, () -> UserCursor.decode(noSeparator));
+        assertThrows(InvalidCursorException.class, () -> UserCursor.decode(badTimestamp));
+        assertThrows(InvalidCursorException.class, () -> UserCursor.decode(badId));
+    }
+}
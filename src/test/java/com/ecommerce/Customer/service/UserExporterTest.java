@@ -0,0 +1,130 @@
+package com.ecommerce.Customer.service;
+
+import com.ecommerce.Customer.config.UserListingProperties;
+import com.ecommerce.Customer.entity.UuidBinaryJavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserExporterTest {
+
+    private static final String ADMIN_ROLE_ID = "0190f0a1-0000-7000-8000-000000000001";
+    private static final String USER_ROLE_ID = "0190f0a1-0000-7000-8000-000000000002";
+
+    private JdbcTemplate jdbcTemplate;
+    private UserListingProperties properties;
+    private DataSourceProperties dataSourceProperties;
+    private UserExporter userExporter;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE users (id BINARY(16) PRIMARY KEY, username VARCHAR(50), password VARCHAR(100), "
+            + "email VARCHAR(100), birthday DATE, address VARCHAR(255), created_at TIMESTAMP, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE roles (id BINARY(16) PRIMARY KEY, role_code VARCHAR(50))");
+        jdbcTemplate.execute("CREATE TABLE user_role (user_id BINARY(16), role_id BINARY(16))");
+        jdbcTemplate.update("INSERT INTO roles (id, role_code) VALUES (?, 'ADMIN'), (?, 'USER')",
+            UuidBinaryJavaType.toBytes(ADMIN_ROLE_ID), UuidBinaryJavaType.toBytes(USER_ROLE_ID));
+
+        dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(url);
+        dataSourceProperties.setUsername("sa");
+        dataSourceProperties.setPassword("");
+        properties = new UserListingProperties();
+        properties.getExport().setRoleBatchSize(2);
+        properties.getExport().setMaxConcurrentExports(1);
+        userExporter = new UserExporter(dataSourceProperties, new ObjectMapper().registerModule(new JavaTimeModule()), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userExporter.destroy();
+    }
+
+    @Test
+    void export_Ndjson_ShouldWriteEveryUserWithRolesAndNoPassword() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            insertUser(i, i % 2 == 0 ? ADMIN_ROLE_ID : USER_ROLE_ID);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = userExporter.export(ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, exported);
+        assertEquals(5, lines.length);
+        assertTrue(lines[0].contains("\"roles\":[\"ADMIN\"]"), lines[0]);
+        assertTrue(lines[1].contains("\"roles\":[\"USER\"]"), lines[1]);
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("secret"));
+    }
+
+    @Test
+    void export_AtConcurrencyLimit_ShouldRejectWithoutWriting() throws Exception {
+        insertUser(0, ADMIN_ROLE_ID);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutputStream blocking = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+        };
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return userExporter.export(ExportFormat.NDJSON, blocking);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        ByteArrayOutputStream rejected = new ByteArrayOutputStream();
+        assertThrows(RejectedExecutionException.class, () -> userExporter.export(ExportFormat.NDJSON, rejected));
+        assertEquals(0, rejected.size());
+
+        release.countDown();
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+    }
+
+    private void insertUser(int index, String roleId) {
+        // Ids ascend with the index, so the export order is the insertion order
+        byte[] id = UuidBinaryJavaType.toBytes(String.format("0190f0a2-0000-7000-8000-%012d", index));
+        String username = "user" + index;
+        jdbcTemplate.update("INSERT INTO users (id, username, password, email, created_at, updated_at) "
+                + "VALUES (?, ?, 'secret', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+            id, username, username + "@example.com");
+        jdbcTemplate.update("INSERT INTO user_role (user_id, role_id) VALUES (?, ?)", id, UuidBinaryJavaType.toBytes(roleId));
+    }
+}
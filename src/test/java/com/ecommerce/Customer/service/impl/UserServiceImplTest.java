@@ -0,0 +1,147 @@
+package com.ecommerce.Customer.service.impl;
+
+import com.ecommerce.Customer.batch.AdaptiveChunkController;
+import com.ecommerce.Customer.batch.BatchLog;
+import com.ecommerce.Customer.batch.MicroBatcher;
+import com.ecommerce.Customer.client.DownstreamHedger;
+import com.ecommerce.Customer.client.DownstreamMetrics;
+import com.ecommerce.Customer.client.DownstreamResilience;
+import com.ecommerce.Customer.client.DownstreamRetries;
+import com.ecommerce.Customer.config.BatchProperties;
+import com.ecommerce.Customer.config.CallerLimitProperties;
+import com.ecommerce.Customer.config.DownstreamClientRegistry;
+import com.ecommerce.Customer.config.DownstreamProperties;
+import com.ecommerce.Customer.config.UserListingProperties;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.journal.BatchJournal;
+import com.ecommerce.Customer.journal.JournaledBatch;
+import com.ecommerce.Customer.journal.JournaledChunk;
+import com.ecommerce.Customer.mapper.UserMapper;
+import com.ecommerce.Customer.ratelimit.FairChunkDispatcher;
+import com.ecommerce.Customer.repository.UserRepository;
+import com.ecommerce.Customer.service.PermissionCache;
+import com.ecommerce.Customer.service.UserCache;
+import com.ecommerce.Customer.standin.LatencyDistribution;
+import com.ecommerce.Customer.standin.StandInFaults;
+import com.ecommerce.Customer.standin.UserServiceStandIn;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private static final String BATCH_ID = "batch-1";
+
+    private UserServiceStandIn standIn;
+    private DownstreamClientRegistry clientRegistry;
+    private BatchJournal batchJournal;
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        standIn = UserServiceStandIn.start();
+        DownstreamProperties downstreamProperties = new DownstreamProperties();
+        DownstreamProperties.Client client = new DownstreamProperties.Client();
+        client.setBaseUrl(standIn.baseUrl());
+        client.setResponseTimeout(Duration.ofMillis(200));
+        downstreamProperties.getClients().put("user-service", client);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        clientRegistry = new DownstreamClientRegistry(downstreamProperties, WebClient.builder(), meterRegistry);
+
+        // One immediate retry instead of the 2s backoff, so exhaustion arrives wrapped as it does in production
+        DownstreamRetries downstreamRetries = mock(DownstreamRetries.class);
+        when(downstreamRetries.retry(anyString(), any(Mono.class), anyLong(), any(Duration.class), any()))
+            .thenAnswer(invocation -> invocation.<Mono<?>>getArgument(1).retryWhen(Retry.max(1)));
+
+        batchJournal = mock(BatchJournal.class);
+        when(batchJournal.recordOutcome(anyString(), anyInt(), anyInt())).thenReturn(Mono.empty());
+        when(batchJournal.recordUndelivered(anyString(), anyInt(), anyInt())).thenReturn(Mono.empty());
+        when(batchJournal.complete(anyString())).thenReturn(Mono.empty());
+
+        BatchProperties batchProperties = new BatchProperties();
+        BatchLog batchLog = new BatchLog(batchProperties);
+        userService = new UserServiceImpl(mock(UserRepository.class), new UserMapper(), new UserListingProperties(),
+            mock(UserCache.class), clientRegistry, new AdaptiveChunkController(batchProperties), mock(MicroBatcher.class),
+            new FairChunkDispatcher(new CallerLimitProperties(), meterRegistry), mock(PermissionCache.class),
+            new DownstreamResilience(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), meterRegistry),
+            downstreamRetries, mock(DownstreamHedger.class), new DownstreamMetrics(meterRegistry, batchLog),
+            batchJournal, batchLog, mock(ExecutorService.class), Schedulers.immediate());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientRegistry.destroy();
+        standIn.close();
+    }
+
+    @Test
+    void resumeJournaledBatch_Healthy_ShouldRecordChunkAndComplete() {
+        StepVerifier.create(userService.resumeJournaledBatch(batch()))
+            .expectNextMatches(response -> response.getHttpStatus() == HttpStatus.OK)
+            .verifyComplete();
+
+        verify(batchJournal).recordOutcome(BATCH_ID, 0, 200);
+        verify(batchJournal).complete(BATCH_ID);
+    }
+
+    @Test
+    void resumeJournaledBatch_ConnectionResetAfterRetries_ShouldKeepChunkPending() {
+        StandInFaults resets = new StandInFaults();
+        resets.setResetRate(1.0);
+        standIn.faults(UserServiceStandIn.Endpoint.BATCH_SUCCESS_ERROR, resets);
+
+        StepVerifier.create(userService.resumeJournaledBatch(batch()))
+            .expectNextMatches(response -> response.getHttpStatus() == HttpStatus.REQUEST_TIMEOUT)
+            .verifyComplete();
+
+        verify(batchJournal).recordUndelivered(BATCH_ID, 0, 408);
+        verify(batchJournal, never()).recordOutcome(anyString(), anyInt(), anyInt());
+        verify(batchJournal, never()).complete(anyString());
+    }
+
+    @Test
+    void resumeJournaledBatch_ResponseTimeoutAfterRetries_ShouldKeepChunkPending() {
+        StandInFaults slow = new StandInFaults();
+        slow.setLatency(LatencyDistribution.fixed(Duration.ofSeconds(1)));
+        standIn.faults(UserServiceStandIn.Endpoint.BATCH_SUCCESS_ERROR, slow);
+
+        StepVerifier.create(userService.resumeJournaledBatch(batch()))
+            .expectNextMatches(response -> response.getHttpStatus() == HttpStatus.REQUEST_TIMEOUT)
+            .verifyComplete();
+
+        verify(batchJournal).recordUndelivered(BATCH_ID, 0, 408);
+        verify(batchJournal, never()).complete(anyString());
+    }
+
+    private static JournaledBatch batch() {
+        List<UserCallExternalRequestDTO> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(new UserCallExternalRequestDTO("user" + i, "secret", "user" + i + "@example.com"));
+        }
+        return new JournaledBatch(BATCH_ID, "admin", List.of(new JournaledChunk(0, users)));
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.Customer.standin;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Response latency model for the stand-in. Log-normal is the usual shape of real service latency;
+ * the others are handy for deterministic tests and for exaggerating tails.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    Duration sample(RandomGenerator random);
+
+    static LatencyDistribution none() {
+        return fixed(Duration.ZERO);
+    }
+
+    static LatencyDistribution fixed(Duration latency) {
+        return random -> latency;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long maxNanos = max.toNanos();
+        return random -> Duration.ofNanos(minNanos + (long) (random.nextDouble() * (maxNanos - minNanos)));
+    }
+
+    static LatencyDistribution exponential(Duration mean) {
+        long meanNanos = mean.toNanos();
+        return random -> Duration.ofNanos((long) (-meanNanos * Math.log(1 - random.nextDouble())));
+    }
+
+    /**
+     * {@code median * e^(sigma * N(0,1))}: sigma 0.5 gives p99 of roughly 3x the median, sigma 1 roughly 10x.
+     */
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        long medianNanos = median.toNanos();
+        return random -> Duration.ofNanos((long) (medianNanos * Math.exp(sigma * random.nextGaussian())));
+    }
+
+    default LatencyDistribution capped(Duration max) {
+        return random -> {
+            Duration sample = sample(random);
+            return sample.compareTo(max) > 0 ? max : sample;
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.Customer.standin;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Faults injected by {@link UserServiceStandIn} for one endpoint. Rates are probabilities in [0, 1]
+ * rolled independently per request ({@code partialFailureRate} per user in a batch).
+ */
+@Data
+public class StandInFaults {
+    private LatencyDistribution latency = LatencyDistribution.none();
+    /** Whole request answered with {@code errorStatus} after the latency. */
+    private double errorRate = 0;
+    private int errorStatus = 503;
+    /** Individual users in an otherwise successful batch reported as failed. */
+    private double partialFailureRate = 0;
+    /** Connection closed with a TCP reset instead of a response. */
+    private double resetRate = 0;
+    /** Body sent in {@code dripChunkSize}-byte pieces, {@code dripInterval} apart. */
+    private double slowDripRate = 0;
+    private int dripChunkSize = 256;
+    private Duration dripInterval = Duration.ofMillis(50);
+
+    public static StandInFaults none() {
+        return new StandInFaults();
+    }
+}
@@ -0,0 +1,312 @@
+package com.ecommerce.Customer.standin;
+
+import com.ecommerce.Customer.client.PayloadFormat;
+import com.ecommerce.Customer.dto.UserBatchErrorDto;
+import com.ecommerce.Customer.dto.UserBatchSuccessfulDto;
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.dto.UserCallExternalResponseDTO;
+import com.ecommerce.Customer.dto.UserCallFullResponse;
+import com.ecommerce.Customer.dto.UserResponseBatchSuccessErrorDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * In-process stand-in for the downstream user service, so {@code UserServiceImpl} can be exercised and
+ * benchmarked without the real service on {@code localhost:8082}. Serves the same endpoints and DTO shapes,
+ * and injects latency, errors, partial failures, connection resets and slow-drip bodies per endpoint.
+ * Faults can be changed while the server runs, to reproduce a brownout mid-test.
+ *
+ * <p>Run standalone with {@link #main(String[])}, then point {@code downstream.clients.user-service.base-url}
+ * at it.
+ */
+@Slf4j
+public class UserServiceStandIn implements AutoCloseable {
+
+    public enum Endpoint {
+        BATCH("/api/users/batch"),
+        BATCH_ASYNC("/api/users/batch_async"),
+        BATCH_SUCCESS_ERROR("/api/users/batch_success_error"),
+        PERMISSION("/api/users/permission/{user}");
+
+        private final String path;
+
+        Endpoint(String path) {
+            this.path = path;
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+
+    private static final TypeReference<List<UserCallExternalRequestDTO>> USER_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+    private final Map<Endpoint, StandInFaults> faults = Collections.synchronizedMap(new EnumMap<>(Endpoint.class));
+    private final Map<Endpoint, AtomicLong> requestCounts = new EnumMap<>(Endpoint.class);
+    private volatile StandInFaults defaultFaults = StandInFaults.none();
+    private volatile Set<String> deniedUsers = Set.of();
+    private volatile boolean advertisePayloadSupport = false;
+    private final DisposableServer server;
+
+    public UserServiceStandIn(int port) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            requestCounts.put(endpoint, new AtomicLong());
+        }
+        this.server = HttpServer.create()
+            .host("localhost")
+            .port(port)
+            .route(routes -> routes
+                .post(Endpoint.BATCH.getPath(), (request, response) ->
+                    handle(Endpoint.BATCH, request, response, UserServiceStandIn::batch))
+                .post(Endpoint.BATCH_ASYNC.getPath(), (request, response) ->
+                    handle(Endpoint.BATCH_ASYNC, request, response, UserServiceStandIn::batchAsync))
+                .post(Endpoint.BATCH_SUCCESS_ERROR.getPath(), (request, response) ->
+                    handle(Endpoint.BATCH_SUCCESS_ERROR, request, response, UserServiceStandIn::batchSuccessError))
+                .get(Endpoint.PERMISSION.getPath(), (request, response) ->
+                    handle(Endpoint.PERMISSION, request, response, outcomes -> permission(request.param("user")))))
+            .bindNow();
+        log.info("User service stand-in listening on {}", baseUrl());
+    }
+
+    /**
+     * Starts on an ephemeral port; read it back with {@link #port()} or {@link #baseUrl()}.
+     */
+    public static UserServiceStandIn start() {
+        return new UserServiceStandIn(0);
+    }
+
+    public int port() {
+        return server.port();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    public UserServiceStandIn faults(StandInFaults faults) {
+        this.defaultFaults = faults;
+        return this;
+    }
+
+    public UserServiceStandIn faults(Endpoint endpoint, StandInFaults faults) {
+        this.faults.put(endpoint, faults);
+        return this;
+    }
+
+    /**
+     * Drops all injected faults, e.g. to end a brownout.
+     */
+    public UserServiceStandIn healthy() {
+        this.faults.clear();
+        this.defaultFaults = StandInFaults.none();
+        return this;
+    }
+
+    /**
+     * Users whose permission lookup does not contain {@code ADMIN}; everyone else is granted.
+     */
+    public UserServiceStandIn deniedUsers(Set<String> users) {
+        this.deniedUsers = Set.copyOf(users);
+        return this;
+    }
+
+    /**
+     * Advertises Smile request bodies and gzip in {@code Accept} / {@code Accept-Encoding} response headers.
+     * Smile and gzip request bodies are always understood.
+     */
+    public UserServiceStandIn advertisePayloadSupport(boolean advertise) {
+        this.advertisePayloadSupport = advertise;
+        return this;
+    }
+
+    public long requestCount(Endpoint endpoint) {
+        return requestCounts.get(endpoint).get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> handle(Endpoint endpoint, HttpServerRequest request, HttpServerResponse response,
+                              Function<List<Outcome>, Object> replier) {
+        requestCounts.get(endpoint).incrementAndGet();
+        StandInFaults current = faults.getOrDefault(endpoint, defaultFaults);
+
+        return request.receive().aggregate().asByteArray()
+            .defaultIfEmpty(new byte[0])
+            .map(body -> endpoint == Endpoint.PERMISSION ? List.<UserCallExternalRequestDTO>of() : decode(request, body))
+            .delayUntil(users -> Mono.delay(current.getLatency().sample(ThreadLocalRandom.current())))
+            .flatMap(users -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                if (random.nextDouble() < current.getResetRate()) {
+                    return reset(response);
+                }
+                if (random.nextDouble() < current.getErrorRate()) {
+                    return response.status(current.getErrorStatus())
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendString(Mono.just("{\"error\":\"Injected failure\"}"))
+                        .then();
+                }
+                Object reply = replier.apply(partialFailures(users, current.getPartialFailureRate()));
+                byte[] bytes = reply instanceof String text ? text.getBytes(StandardCharsets.UTF_8) : encode(reply);
+                response.status(HttpResponseStatus.OK)
+                    .header(HttpHeaderNames.CONTENT_TYPE, reply instanceof String ? "text/plain" : "application/json");
+                if (advertisePayloadSupport) {
+                    response.header(HttpHeaderNames.ACCEPT, "application/json, " + PayloadFormat.SMILE.getMediaType())
+                        .header(HttpHeaderNames.ACCEPT_ENCODING, "gzip");
+                }
+                if (random.nextDouble() < current.getSlowDripRate()) {
+                    return drip(response, bytes, current);
+                }
+                return response.sendByteArray(Mono.just(bytes)).then();
+            });
+    }
+
+    private List<UserCallExternalRequestDTO> decode(HttpServerRequest request, byte[] body) {
+        try {
+            InputStream in = new ByteArrayInputStream(body);
+            if ("gzip".equalsIgnoreCase(request.requestHeaders().get(HttpHeaderNames.CONTENT_ENCODING))) {
+                in = new GZIPInputStream(in);
+            }
+            String contentType = request.requestHeaders().get(HttpHeaderNames.CONTENT_TYPE, "");
+            ObjectMapper mapper = contentType.startsWith(PayloadFormat.SMILE.getMediaType().toString()) ? smileMapper : jsonMapper;
+            return mapper.readValue(in, USER_LIST);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable request body", e);
+        }
+    }
+
+    private byte[] encode(Object reply) {
+        try {
+            return jsonMapper.writeValueAsBytes(reply);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode stand-in response", e);
+        }
+    }
+
+    private static Mono<Void> reset(HttpServerResponse response) {
+        return Mono.fromRunnable(() -> response.withConnection(connection -> {
+            // SO_LINGER 0 makes close() send RST instead of FIN
+            connection.channel().config().setOption(ChannelOption.SO_LINGER, 0);
+            connection.channel().close();
+        }));
+    }
+
+    private static Mono<Void> drip(HttpServerResponse response, byte[] bytes, StandInFaults faults) {
+        int chunkSize = Math.max(1, faults.getDripChunkSize());
+        int chunks = (bytes.length + chunkSize - 1) / chunkSize;
+        return response.send(Flux.range(0, chunks)
+                .delayElements(faults.getDripInterval())
+                .map(i -> Unpooled.wrappedBuffer(bytes, i * chunkSize, Math.min(chunkSize, bytes.length - i * chunkSize))),
+                buffer -> true)
+            .then();
+    }
+
+    private static List<Outcome> partialFailures(List<UserCallExternalRequestDTO> users, double failureRate) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Outcome> outcomes = new ArrayList<>(users.size());
+        for (UserCallExternalRequestDTO user : users) {
+            outcomes.add(new Outcome(user, random.nextDouble() >= failureRate));
+        }
+        return outcomes;
+    }
+
+    private static List<UserCallExternalResponseDTO> batch(List<Outcome> outcomes) {
+        return outcomes.stream()
+            .map(outcome -> new UserCallExternalResponseDTO(
+                outcome.user().getUsername(),
+                outcome.success() ? "SUCCESS" : "FAILED",
+                outcome.success() ? "User created successfully" : "Injected failure"))
+            .toList();
+    }
+
+    private static UserCallFullResponse batchAsync(List<Outcome> outcomes) {
+        List<UserCallExternalResponseDTO> results = batch(outcomes);
+        int successCount = (int) outcomes.stream().filter(Outcome::success).count();
+        return new UserCallFullResponse(successCount, outcomes.size() - successCount,
+            successRate(successCount, outcomes.size()), results);
+    }
+
+    private static UserResponseBatchSuccessErrorDto batchSuccessError(List<Outcome> outcomes) {
+        List<UserBatchSuccessfulDto> successful = new ArrayList<>();
+        List<UserBatchErrorDto> errors = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            UserCallExternalRequestDTO user = outcome.user();
+            if (outcome.success()) {
+                successful.add(new UserBatchSuccessfulDto(user.getUsername(), user.getEmail(), user.getPassword()));
+            } else {
+                errors.add(new UserBatchErrorDto(user.getUsername(), "Injected failure"));
+            }
+        }
+        return new UserResponseBatchSuccessErrorDto(successful.size(), errors.size(),
+            successRate(successful.size(), outcomes.size()), successful, errors);
+    }
+
+    private String permission(String user) {
+        return deniedUsers.contains(user) ? "[USER]" : "[ADMIN, USER]";
+    }
+
+    private static float successRate(int successCount, int total) {
+        return total == 0 ? 0f : successCount * 100f / total;
+    }
+
+    private record Outcome(UserCallExternalRequestDTO user, boolean success) {
+    }
+
+    /**
+     * Standalone run, configured with system properties (all optional):
+     * {@code standin.port} (8082), {@code standin.latency.median} (PT0S), {@code standin.latency.sigma} (0.5),
+     * {@code standin.latency.max} (PT30S), {@code standin.error-rate}, {@code standin.partial-failure-rate},
+     * {@code standin.reset-rate}, {@code standin.slow-drip-rate}, {@code standin.advertise-payload-support}.
+     */
+    public static void main(String[] args) {
+        StandInFaults faults = new StandInFaults();
+        Duration median = Duration.parse(System.getProperty("standin.latency.median", "PT0S"));
+        double sigma = Double.parseDouble(System.getProperty("standin.latency.sigma", "0.5"));
+        Duration max = Duration.parse(System.getProperty("standin.latency.max", "PT30S"));
+        faults.setLatency(LatencyDistribution.logNormal(median, sigma).capped(max));
+        faults.setErrorRate(Double.parseDouble(System.getProperty("standin.error-rate", "0")));
+        faults.setPartialFailureRate(Double.parseDouble(System.getProperty("standin.partial-failure-rate", "0")));
+        faults.setResetRate(Double.parseDouble(System.getProperty("standin.reset-rate", "0")));
+        faults.setSlowDripRate(Double.parseDouble(System.getProperty("standin.slow-drip-rate", "0")));
+
+        UserServiceStandIn standIn = new UserServiceStandIn(Integer.getInteger("standin.port", 8082))
+            .faults(faults)
+            .advertisePayloadSupport(Boolean.getBoolean("standin.advertise-payload-support"));
+        Runtime.getRuntime().addShutdownHook(new Thread(standIn::close));
+        standIn.server.onDispose().block();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.Customer.standin;
+
+import com.ecommerce.Customer.dto.UserCallExternalRequestDTO;
+import com.ecommerce.Customer.dto.UserCallExternalResponseDTO;
+import com.ecommerce.Customer.dto.UserResponseBatchSuccessErrorDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserServiceStandInTest {
+
+    private UserServiceStandIn standIn;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() {
+        standIn = UserServiceStandIn.start();
+        webClient = WebClient.builder().baseUrl(standIn.baseUrl()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        standIn.close();
+    }
+
+    @Test
+    void batchSuccessError_PartialFailures_ShouldSplitUsers() {
+        StandInFaults faults = new StandInFaults();
+        faults.setPartialFailureRate(1.0);
+        standIn.faults(UserServiceStandIn.Endpoint.BATCH_SUCCESS_ERROR, faults);
+
+        UserResponseBatchSuccessErrorDto response = webClient.post()
+            .uri("/api/users/batch_success_error")
+            .bodyValue(users(10))
+            .retrieve()
+            .bodyToMono(UserResponseBatchSuccessErrorDto.class)
+            .block();
+
+        assertEquals(0, response.getSuccessCount());
+        assertEquals(10, response.getErrorUsers().size());
+
+        // Other endpoints keep the healthy defaults
+        List<UserCallExternalResponseDTO> batch = webClient.post()
+            .uri("/api/users/batch")
+            .bodyValue(users(10))
+            .retrieve()
+            .bodyToFlux(UserCallExternalResponseDTO.class)
+            .collectList()
+            .block();
+        assertTrue(batch.stream().allMatch(result -> "SUCCESS".equals(result.getStatus())));
+    }
+
+    @Test
+    void permission_ShouldGrantAdminUnlessDenied() {
+        standIn.deniedUsers(Set.of("guest"));
+
+        assertTrue(webClient.get().uri("/api/users/permission/{user}", "ngoc")
+            .retrieve().bodyToMono(String.class).block().contains("ADMIN"));
+        assertTrue(!webClient.get().uri("/api/users/permission/{user}", "guest")
+            .retrieve().bodyToMono(String.class).block().contains("ADMIN"));
+    }
+
+    @Test
+    void faults_ErrorsAndResets_ShouldSurfaceAsClientErrors() {
+        StandInFaults errors = new StandInFaults();
+        errors.setErrorRate(1.0);
+        errors.setLatency(LatencyDistribution.fixed(Duration.ofMillis(20)));
+        standIn.faults(errors);
+
+        StepVerifier.create(webClient.post().uri("/api/users/batch").bodyValue(users(1))
+                .retrieve().bodyToFlux(UserCallExternalResponseDTO.class))
+            .expectErrorMatches(e -> e instanceof WebClientResponseException response
+                && response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE)
+            .verify(Duration.ofSeconds(5));
+
+        StandInFaults resets = new StandInFaults();
+        resets.setResetRate(1.0);
+        standIn.faults(resets);
+
+        StepVerifier.create(webClient.post().uri("/api/users/batch").bodyValue(users(1))
+                .retrieve().bodyToFlux(UserCallExternalResponseDTO.class))
+            .expectError(WebClientRequestException.class)
+            .verify(Duration.ofSeconds(5));
+
+        assertEquals(2, standIn.requestCount(UserServiceStandIn.Endpoint.BATCH));
+    }
+
+    @Test
+    void faults_SlowDrip_ShouldStillDeliverWholeBody() {
+        StandInFaults faults = new StandInFaults();
+        faults.setSlowDripRate(1.0);
+        faults.setDripChunkSize(64);
+        faults.setDripInterval(Duration.ofMillis(5));
+        standIn.faults(faults);
+
+        StepVerifier.create(webClient.post().uri("/api/users/batch").bodyValue(users(20))
+                .retrieve().bodyToFlux(UserCallExternalResponseDTO.class))
+            .expectNextCount(20)
+            .verifyComplete();
+    }
+
+    private static List<UserCallExternalRequestDTO> users(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new UserCallExternalRequestDTO("user" + i, "password" + i, "user" + i + "@example.com"))
+            .toList();
+    }
+}